@@ -0,0 +1,64 @@
+// k6 load test for the read endpoints, used to compare platform and virtual request threads.
+//
+// Start the app once per model, then run the same script against it:
+//   platform threads: ./gradlew bootRun
+//   virtual threads:  VIRTUAL_THREADS_ENABLED=true ./gradlew -PjavaVersion=21 bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=800 benchmark/car_read_load.js
+//
+// Keep DB_POOL_SIZE the same for both runs so only the request threading differs,
+// and compare http_reqs (throughput) and the http_req_duration percentiles per endpoint.
+//
+// Results: none recorded yet. The comparison has not been run, so virtual threads stay opt-in
+// (VIRTUAL_THREADS_ENABLED defaults to false) until it has. Record each run here as
+//   date, commit, Java version, VUS, DB_POOL_SIZE, threading model, http_reqs/s, p95 and p99 per endpoint
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '800');
+const DURATION = __ENV.DURATION || '2m';
+const MAKES = ['Toyota', 'Honda', 'Ford', 'BMW', 'Nissan'];
+
+export const options = {
+    scenarios: {
+        car_by_id: {
+            executor: 'constant-vus',
+            exec: 'carById',
+            vus: VUS / 2,
+            duration: DURATION,
+        },
+        car_filter: {
+            executor: 'constant-vus',
+            exec: 'carFilter',
+            vus: VUS / 2,
+            duration: DURATION,
+        },
+    },
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+        'http_req_duration{scenario:car_by_id}': ['p(95)<500'],
+        'http_req_duration{scenario:car_filter}': ['p(95)<1000'],
+    },
+};
+
+export function setup() {
+    const ids = http.get(`${BASE_URL}/car/filter?model=&status=active&size=1000&includeTotal=false`).json('content.#.id');
+    if (!ids || ids.length === 0) {
+        throw new Error('no cars to read, seed the database first');
+    }
+    return { ids };
+}
+
+export function carById(data) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    const res = http.get(`${BASE_URL}/car/${id}`, { tags: { name: '/car/{id}' } });
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function carFilter() {
+    const make = MAKES[Math.floor(Math.random() * MAKES.length)];
+    const page = Math.floor(Math.random() * 10);
+    const res = http.get(`${BASE_URL}/car/filter?make=${make}&model=&status=active&page=${page}&size=20`, { tags: { name: '/car/filter' } });
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,97 @@
+-- Filter latency benchmark for the V4__car_filter_indexes migration.
+--
+-- Usage (against a scratch schema, never production):
+--   1. migrate to V3 (flyway -target=3 migrate) and run this script, keep the output
+--   2. migrate to V4 (flyway migrate) and run the "queries" section again
+--   3. compare the "actual time" of the top node in each EXPLAIN ANALYZE plan
+--   4. the seed INSERT's own duration at each version is what the index set costs the batch import
+--
+-- The queries mirror what CarCustomRepositoryImpl generates for /car/filter.
+
+-- ---------------------------------------------------------------- seed 1M cars
+SET SESSION cte_max_recursion_depth = 1000000;
+
+INSERT INTO car (is_electric, previous_owner, price, `year`, dimensions, engine_specs, features,
+                 maintenance_dates, make_id, model, warranty, created_at, updated_at, status)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < 1000000
+),
+-- make ids are not contiguous once a make has been deleted, so they are numbered rather than computed
+makes AS (
+    SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS rn, COUNT(*) OVER () AS total FROM car_make
+)
+SELECT n % 2,
+       n % 5,
+       5000 + (n * 37) % 95000,
+       1950 + n % 75,
+       '{"length":100,"width":50,"height":30,"weight":1000}',
+       '{"type":"EngineType","horsepower":200,"torque":300}',
+       '["Feature1","Feature2","Feature3"]',
+       '["2024-09-05","2024-09-06"]',
+       makes.id,
+       CONCAT('Model-', n % 500),
+       '{"basic":"Basic","powertrain":"Powertrain"}',
+       1725508440 + n,
+       NULL,
+       ELT(1 + n % 4, 'active', 'sold', 'archive', 'deleted')
+FROM seq
+JOIN makes ON makes.rn = seq.n % makes.total;
+
+ANALYZE TABLE car, car_make;
+
+-- ---------------------------------------------------------------- queries
+-- make + year + status, sorted by id
+EXPLAIN ANALYZE
+SELECT c.*, m.* FROM car c JOIN car_make m ON m.id = c.make_id
+WHERE c.make_id = (SELECT id FROM car_make WHERE name = 'Honda') AND c.`year` = 2021 AND c.status = 'active'
+ORDER BY c.id LIMIT 10;
+
+-- status only, sorted by price (deep offset page)
+EXPLAIN ANALYZE
+SELECT c.*, m.* FROM car c JOIN car_make m ON m.id = c.make_id
+WHERE c.status = 'active'
+ORDER BY c.price, c.id LIMIT 10 OFFSET 50000;
+
+-- status + year, sorted by createdAt
+EXPLAIN ANALYZE
+SELECT c.*, m.* FROM car c JOIN car_make m ON m.id = c.make_id
+WHERE c.status = 'sold' AND c.`year` = 2010
+ORDER BY c.created_at DESC LIMIT 10;
+
+-- count for the paged response
+EXPLAIN ANALYZE
+SELECT COUNT(c.id) FROM car c
+WHERE c.make_id = (SELECT id FROM car_make WHERE name = 'Honda') AND c.status = 'active';
+
+-- make lookup on every write
+EXPLAIN ANALYZE
+SELECT * FROM car_make WHERE name = 'Honda';
+
+-- ---------------------------------------------------------------- range filters (V6__car_range_filter_indexes)
+-- multi-value make + status with a price range, sorted by price
+EXPLAIN ANALYZE
+SELECT c.*, m.* FROM car c JOIN car_make m ON m.id = c.make_id
+WHERE c.make_id IN (SELECT id FROM car_make WHERE name IN ('Honda', 'Toyota')) AND c.status IN ('active', 'sold')
+  AND c.price BETWEEN 20000 AND 30000
+ORDER BY c.price, c.id LIMIT 10;
+
+-- electric cars under a price, with a year range
+EXPLAIN ANALYZE
+SELECT c.*, m.* FROM car c JOIN car_make m ON m.id = c.make_id
+WHERE c.status = 'active' AND c.is_electric = 1 AND c.price <= 15000 AND c.`year` BETWEEN 2000 AND 2020
+ORDER BY c.id LIMIT 10;
+
+-- ---------------------------------------------------------------- filters without status (V8, V10)
+-- make only, sorted by price: idx_car_make_price, which also backs the make_id foreign key after V10
+EXPLAIN ANALYZE
+SELECT c.*, m.* FROM car c JOIN car_make m ON m.id = c.make_id
+WHERE c.make_id = (SELECT id FROM car_make WHERE name = 'Honda')
+ORDER BY c.price, c.id LIMIT 10;
+
+-- price range only: idx_car_price
+EXPLAIN ANALYZE
+SELECT c.*, m.* FROM car c JOIN car_make m ON m.id = c.make_id
+WHERE c.price BETWEEN 20000 AND 21000
+ORDER BY c.id LIMIT 10;
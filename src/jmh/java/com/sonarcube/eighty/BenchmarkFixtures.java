@@ -0,0 +1,80 @@
+package com.sonarcube.eighty;
+
+import com.sonarcube.eighty.dto.CarDtoRequest;
+import com.sonarcube.eighty.dto.CarStatus;
+import com.sonarcube.eighty.dto.Dimensions;
+import com.sonarcube.eighty.dto.Engine;
+import com.sonarcube.eighty.dto.Warranty;
+import com.sonarcube.eighty.model.Car;
+import com.sonarcube.eighty.model.CarMake;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkFixtures {
+
+    // same shape as the rows seeded by V3_insert_data_car.sql
+    public static final String FEATURES_JSON = "[\"Feature1\",\"Feature2\",\"Feature3\"]";
+    public static final String ENGINE_JSON = "{\"type\":\"EngineType\",\"horsepower\":200,\"torque\":300}";
+    public static final String WARRANTY_JSON = "{\"basic\":\"Basic\",\"powertrain\":\"Powertrain\"}";
+    public static final String MAINTENANCE_DATES_JSON = "[\"2024-09-05\",\"2024-09-06\"]";
+    public static final String DIMENSIONS_JSON = "{\"length\":100,\"width\":50,\"height\":30,\"weight\":1000}";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static CarMake carMake() {
+        return CarMake.builder()
+                .id(1L)
+                .name("Honda")
+                .isActive(true)
+                .createdAt(1725508440L)
+                .build();
+    }
+
+    public static Car car(long id, CarMake carMake) {
+        return Car.builder()
+                .id(id)
+                .carMake(carMake)
+                .model("Model-" + id)
+                .year(2021)
+                .price(25000)
+                .isElectric(id % 2 == 0)
+                .features(List.of("Feature1", "Feature2", "Feature3"))
+                .engine(Engine.builder().type("EngineType").horsepower(200).torque(300).build())
+                .previousOwner(1)
+                .warranty(Warranty.builder().basic("Basic").powertrain("Powertrain").build())
+                .maintenanceDates(List.of(LocalDate.of(2024, 9, 5), LocalDate.of(2024, 9, 6)))
+                .dimensions(Dimensions.builder().length(100).width(50).height(30).weight(1000).build())
+                .createdAt(1725508440L + id)
+                .updatedAt(id % 2 == 0 ? 1725508500L + id : null)
+                .status(CarStatus.ACTIVE.getValue())
+                .build();
+    }
+
+    public static List<Car> cars(int count) {
+        CarMake carMake = carMake();
+        List<Car> cars = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            cars.add(car(id, carMake));
+        }
+        return cars;
+    }
+
+    public static CarDtoRequest carDtoRequest() {
+        return CarDtoRequest.builder()
+                .make("Honda")
+                .model("Civic")
+                .year(2021)
+                .price(25000)
+                .isElectric(false)
+                .features(List.of("Feature1", "Feature2", "Feature3"))
+                .engine(Engine.builder().type("EngineType").horsepower(200).torque(300).build())
+                .previousOwner(1)
+                .warranty(Warranty.builder().basic("Basic").powertrain("Powertrain").build())
+                .maintenanceDates(List.of(LocalDate.of(2024, 9, 5), LocalDate.of(2024, 9, 6)))
+                .dimensions(Dimensions.builder().length(100).width(50).height(30).weight(1000).build())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.sonarcube.eighty.controller.exception;
+
+import com.sonarcube.eighty.dto.ErrorDetails;
+import com.sonarcube.eighty.exception.DomainException;
+import com.sonarcube.eighty.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.lang.reflect.Proxy;
+import java.util.Date;
+
+@State(Scope.Benchmark)
+public class NotFoundErrorBenchmark {
+
+    // true is how every 404 was thrown before, false is the default now
+    @Param({"true", "false"})
+    private boolean stackTraces;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    // only getDescription is called by the handler
+    private final WebRequest webRequest = (WebRequest) Proxy.newProxyInstance(
+            WebRequest.class.getClassLoader(),
+            new Class<?>[]{WebRequest.class},
+            (proxy, method, args) -> method.getName().equals("getDescription") ? "uri=/car/99" : null);
+
+    @Setup
+    public void setup() {
+        DomainException.setStackTraces(stackTraces);
+    }
+
+    @TearDown
+    public void tearDown() {
+        DomainException.setStackTraces(false);
+    }
+
+    // GET /car/99 without the servlet stack: the service throws, the advice builds the body
+    @Benchmark
+    public ResponseEntity<ErrorDetails> notFound() {
+        try {
+            throw new ResourceNotFoundException("Car", "id", 99L);
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFoundException(e, webRequest);
+        }
+    }
+
+    // the exception and the builder based body the handler produced before, kept as the baseline
+    @Benchmark
+    public ResponseEntity<ErrorDetails> notFoundWithBuilder() {
+        try {
+            throw new ResourceNotFoundException("Car", "id", 99L);
+        } catch (ResourceNotFoundException e) {
+            ErrorDetails errorDetails = ErrorDetails.builder()
+                    .timestamp(new Date())
+                    .status("404")
+                    .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+                    .message("Resource not found")
+                    .details(String.format("%s not found with %s : '%s'", "Car", "id", 99L))
+                    .path(webRequest.getDescription(false))
+                    .exception(e.getClass().getName())
+                    .build();
+            return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.sonarcube.eighty.dto;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+public class CarFilterParamsBindingBenchmark {
+
+    // what @ModelAttribute receives for GET /car/filter
+    private static final Map<String, String> VALID_PARAMS = Map.of(
+            "make", "Honda",
+            "model", "Civic",
+            "year", "2021",
+            "status", "active",
+            "page", "2",
+            "size", "20",
+            "sortBy", "price",
+            "sortDirection", "DESC");
+
+    // every value falls back to its default
+    private static final Map<String, String> INVALID_PARAMS = Map.of(
+            "make", "Honda",
+            "model", "Civic",
+            "year", "twenty",
+            "status", "unknown",
+            "page", "x",
+            "size", "y",
+            "sortBy", "unknownField",
+            "sortDirection", "sideways");
+
+    private static final Map<String, String[]> VALID_REQUEST = asRequestParameters(VALID_PARAMS);
+    private static final Map<String, String[]> INVALID_REQUEST = asRequestParameters(INVALID_PARAMS);
+
+    // the @ModelAttribute path /car/filter used before, kept as the baseline
+    @Benchmark
+    public CarFilterParams bindValidParams() {
+        return bind(VALID_PARAMS);
+    }
+
+    @Benchmark
+    public CarFilterParams bindInvalidParams() {
+        return bind(INVALID_PARAMS);
+    }
+
+    // what CarFilterParamsArgumentResolver does now
+    @Benchmark
+    public CarFilterParams resolveValidParams() {
+        return CarFilterParams.bind(VALID_REQUEST::get);
+    }
+
+    @Benchmark
+    public CarFilterParams resolveInvalidParams() {
+        return CarFilterParams.bind(INVALID_REQUEST::get);
+    }
+
+    @Benchmark
+    public CarStatus findStatus() {
+        return CarStatus.find("sold");
+    }
+
+    @Benchmark
+    public CarFilterParams setValidParams() {
+        CarFilterParams params = new CarFilterParams();
+        params.setMake("Honda");
+        params.setModel("Civic");
+        params.setYear("2021");
+        params.setCarStatus("active");
+        params.setPage("2");
+        params.setSize("20");
+        params.setSortBy("price");
+        params.setSortDirection("DESC");
+        return params;
+    }
+
+    @Benchmark
+    public CarFilterParams setInvalidParams() {
+        CarFilterParams params = new CarFilterParams();
+        params.setMake("Honda");
+        params.setModel("Civic");
+        params.setYear("twenty");
+        params.setCarStatus("unknown");
+        params.setPage("x");
+        params.setSize("y");
+        params.setSortBy("unknownField");
+        params.setSortDirection("sideways");
+        return params;
+    }
+
+    private static Map<String, String[]> asRequestParameters(Map<String, String> params) {
+        return params.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> new String[]{entry.getValue()}));
+    }
+
+    private static CarFilterParams bind(Map<String, String> params) {
+        CarFilterParams target = new CarFilterParams();
+        WebDataBinder binder = new WebDataBinder(target);
+        binder.bind(new MutablePropertyValues(params));
+        return target;
+    }
+}
@@ -0,0 +1,73 @@
+package com.sonarcube.eighty.util.converter;
+
+import com.sonarcube.eighty.BenchmarkFixtures;
+import com.sonarcube.eighty.dto.Dimensions;
+import com.sonarcube.eighty.dto.Engine;
+import com.sonarcube.eighty.dto.Warranty;
+import com.sonarcube.eighty.model.Car;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class JsonColumnBenchmark {
+
+    private final StringListConverter stringListConverter = new StringListConverter();
+    private final EngineConverter engineConverter = new EngineConverter();
+    private final WarrantyConverter warrantyConverter = new WarrantyConverter();
+    private final LocalDateListConverter localDateListConverter = new LocalDateListConverter();
+    private final DimensionsConverter dimensionsConverter = new DimensionsConverter();
+
+    private Car car;
+
+    @Setup
+    public void setUp() {
+        car = BenchmarkFixtures.car(1L, BenchmarkFixtures.carMake());
+    }
+
+    @Benchmark
+    public List<String> readFeatures() {
+        return stringListConverter.convertToEntityAttribute(BenchmarkFixtures.FEATURES_JSON);
+    }
+
+    @Benchmark
+    public Engine readEngine() {
+        return engineConverter.convertToEntityAttribute(BenchmarkFixtures.ENGINE_JSON);
+    }
+
+    @Benchmark
+    public Warranty readWarranty() {
+        return warrantyConverter.convertToEntityAttribute(BenchmarkFixtures.WARRANTY_JSON);
+    }
+
+    @Benchmark
+    public List<LocalDate> readMaintenanceDates() {
+        return localDateListConverter.convertToEntityAttribute(BenchmarkFixtures.MAINTENANCE_DATES_JSON);
+    }
+
+    @Benchmark
+    public Dimensions readDimensions() {
+        return dimensionsConverter.convertToEntityAttribute(BenchmarkFixtures.DIMENSIONS_JSON);
+    }
+
+    // every JSON column of one row, as Hibernate hydrates it
+    @Benchmark
+    public void readRow(Blackhole blackhole) {
+        blackhole.consume(stringListConverter.convertToEntityAttribute(BenchmarkFixtures.FEATURES_JSON));
+        blackhole.consume(engineConverter.convertToEntityAttribute(BenchmarkFixtures.ENGINE_JSON));
+        blackhole.consume(warrantyConverter.convertToEntityAttribute(BenchmarkFixtures.WARRANTY_JSON));
+        blackhole.consume(localDateListConverter.convertToEntityAttribute(BenchmarkFixtures.MAINTENANCE_DATES_JSON));
+        blackhole.consume(dimensionsConverter.convertToEntityAttribute(BenchmarkFixtures.DIMENSIONS_JSON));
+    }
+
+    @Benchmark
+    public void writeRow(Blackhole blackhole) {
+        blackhole.consume(stringListConverter.convertToDatabaseColumn(car.getFeatures()));
+        blackhole.consume(engineConverter.convertToDatabaseColumn(car.getEngine()));
+        blackhole.consume(warrantyConverter.convertToDatabaseColumn(car.getWarranty()));
+        blackhole.consume(localDateListConverter.convertToDatabaseColumn(car.getMaintenanceDates()));
+        blackhole.consume(dimensionsConverter.convertToDatabaseColumn(car.getDimensions()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.sonarcube.eighty.util.mapper;
+
+import com.sonarcube.eighty.BenchmarkFixtures;
+import com.sonarcube.eighty.dto.CarDtoRequest;
+import com.sonarcube.eighty.dto.CarDtoResponse;
+import com.sonarcube.eighty.model.Car;
+import com.sonarcube.eighty.model.CarMake;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+// request validation is measured in CarRequestValidationBenchmark
+@State(Scope.Benchmark)
+public class CarConversionBenchmark {
+
+    private final CarMapper carMapper = new CarMapper();
+    private CarMake carMake;
+    private Car car;
+    private List<Car> page;
+    private CarDtoRequest validRequest;
+
+    @Setup
+    public void setUp() {
+        carMake = BenchmarkFixtures.carMake();
+        car = BenchmarkFixtures.car(1L, carMake);
+        page = BenchmarkFixtures.cars(100);
+        validRequest = BenchmarkFixtures.carDtoRequest();
+    }
+
+    @Benchmark
+    public CarDtoResponse convertToDtoResponse() {
+        return carMapper.toDtoResponse(car);
+    }
+
+    @Benchmark
+    public void convertPageToDtoResponse(Blackhole blackhole) {
+        for (Car c : page) {
+            blackhole.consume(carMapper.toDtoResponse(c));
+        }
+    }
+
+    @Benchmark
+    public Car convertToCar() {
+        return carMapper.toCar(validRequest, carMake);
+    }
+}
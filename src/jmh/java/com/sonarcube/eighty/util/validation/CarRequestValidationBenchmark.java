@@ -0,0 +1,35 @@
+package com.sonarcube.eighty.util.validation;
+
+import com.sonarcube.eighty.BenchmarkFixtures;
+import com.sonarcube.eighty.dto.CarDtoRequest;
+import com.sonarcube.eighty.dto.Dimensions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class CarRequestValidationBenchmark {
+
+    private CarDtoRequest validRequest;
+    // three broken fields, so the collecting pass has more than one violation to report
+    private CarDtoRequest invalidRequest;
+
+    @Setup
+    public void setUp() {
+        validRequest = BenchmarkFixtures.carDtoRequest();
+        invalidRequest = BenchmarkFixtures.carDtoRequest();
+        invalidRequest.setYear(1900);
+        invalidRequest.setPrice(-1);
+        invalidRequest.setDimensions(Dimensions.builder().length(100).width(50).height(30).build());
+    }
+
+    @Benchmark
+    public List<String> singlePassValid() {
+        return CarRequestValidator.validate(validRequest);
+    }
+
+    @Benchmark
+    public List<String> singlePassInvalid() {
+        return CarRequestValidator.validate(invalidRequest);
+    }
+}
@@ -0,0 +1,82 @@
+package com.sonarcube.eighty.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String CAR_FILTER_COUNT = "carFilterCount";
+    // Hibernate second-level cache regions
+    public static final String CAR_MAKE_REGION = "carMake";
+    public static final String CAR_FEATURE_REGION = "carFeature";
+    public static final String CAR_BODY_STYLE_REGION = "carBodyStyle";
+    static final List<String> HIBERNATE_REGIONS = List.of(
+            CAR_MAKE_REGION,
+            CAR_FEATURE_REGION,
+            CAR_BODY_STYLE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME
+    );
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cars.cache.filter-count-ttl:30s}") Duration filterCountTtl
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // evictions inside a transaction wait for the commit, so a reader cannot cache the old row in between
+        cacheManager.setTransactionAware(true);
+        cacheManager.registerCustomCache(CAR_FILTER_COUNT, boundedCache(10_000, filterCountTtl));
+        return cacheManager;
+    }
+
+    // the reference tables are small and read-mostly; read-write regions are kept current by Hibernate on every
+    // update through the entity manager, and query results are dropped whenever one of their tables changes.
+    // Every region is created here with a size bound, and missing_cache_strategy=fail keeps Hibernate from
+    // quietly creating an unbounded one.
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager hibernateCacheManager(@Value("${cars.cache.reference-max-size:10000}") long maximumSize) {
+        javax.cache.CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : HIBERNATE_REGIONS) {
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, boundedRegion(maximumSize));
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(javax.cache.CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> boundedRegion(long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> boundedCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.sonarcube.eighty.config;
+
+import com.sonarcube.eighty.dto.CarFilterParams;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+// binds CarFilterParams with its own setters instead of a reflective, conversion-service driven WebDataBinder
+public class CarFilterParamsArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == CarFilterParams.class;
+    }
+
+    @Override
+    public CarFilterParams resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                           NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return CarFilterParams.bind(webRequest::getParameterValues);
+    }
+}
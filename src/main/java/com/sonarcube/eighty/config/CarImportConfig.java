@@ -0,0 +1,47 @@
+package com.sonarcube.eighty.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class CarImportConfig {
+
+    // imports hold a connection per chunk, so they get a small pool of their own instead of competing with requests;
+    // once the queue is full new imports are refused rather than piling up spooled files
+    @Bean
+    public ThreadPoolTaskExecutor carImportExecutor(
+            @Value("${cars.import.workers:2}") int workers,
+            @Value("${cars.import.queue-capacity:8}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("car-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Boot only creates applicationTaskExecutor while there is no Executor bean at all, so carImportExecutor would
+    // make it back off and take over MVC async requests. It is declared here the way Boot declares it: on virtual
+    // threads when spring.threads.virtual.enabled is on, otherwise the spring.task.execution pool
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @Primary
+    public AsyncTaskExecutor applicationTaskExecutor(Environment environment,
+                                                     SimpleAsyncTaskExecutorBuilder simpleAsyncTaskExecutorBuilder,
+                                                     ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return simpleAsyncTaskExecutorBuilder.build();
+        }
+        return threadPoolTaskExecutorBuilder.build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.sonarcube.eighty.config;
+
+import com.sonarcube.eighty.exception.DomainException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ErrorConfig {
+
+    // domain exceptions are created all over the code base with plain constructors, so the switch is static
+    public ErrorConfig(@Value("${cars.errors.stack-traces:false}") boolean stackTraces) {
+        DomainException.setStackTraces(stackTraces);
+    }
+}
@@ -0,0 +1,86 @@
+package com.sonarcube.eighty.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// after a request writes, the client gets a short-lived cookie that pins its reads to the primary,
+// so it never reads back older data from a lagging replica
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String PRIMARY_UNTIL_COOKIE = "cars-primary-until";
+
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final Duration stickiness;
+
+    public ReadYourWritesFilter(Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        CURRENT.set(new RequestState(response, stickiness, primaryUntil(request) > System.currentTimeMillis()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    static boolean isPrimaryRequired() {
+        RequestState state = CURRENT.get();
+        return state != null && state.primaryRequired;
+    }
+
+    static void markWrite() {
+        RequestState state = CURRENT.get();
+        if (state == null || state.wrote) {
+            return;
+        }
+        state.wrote = true;
+        // later reads in this same request must see the write too
+        state.primaryRequired = true;
+        Duration stickiness = state.stickiness;
+        Cookie cookie = new Cookie(PRIMARY_UNTIL_COOKIE, String.valueOf(System.currentTimeMillis() + stickiness.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickiness.toSeconds()));
+        state.response.addCookie(cookie);
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (PRIMARY_UNTIL_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static final class RequestState {
+        private final HttpServletResponse response;
+        private final Duration stickiness;
+        private boolean primaryRequired;
+        private boolean wrote;
+
+        private RequestState(HttpServletResponse response, Duration stickiness, boolean primaryRequired) {
+            this.response = response;
+            this.stickiness = stickiness;
+            this.primaryRequired = primaryRequired;
+        }
+    }
+}
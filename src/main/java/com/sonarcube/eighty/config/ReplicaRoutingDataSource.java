@@ -0,0 +1,111 @@
+package com.sonarcube.eighty.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas = new LinkedHashMap<>();
+    private final List<String> replicaKeys;
+    private final Set<String> healthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Duration maxLag;
+    private final String lagQuery;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, Duration maxLag, String lagQuery) {
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            String key = "replica-" + i;
+            replicas.put(key, replicaDataSources.get(i));
+            targets.put(key, replicaDataSources.get(i));
+        }
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        // replicas are trusted until the first lag check says otherwise
+        healthyReplicas.addAll(replicaKeys);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    // called when a physical connection is taken, which LazyConnectionDataSourceProxy delays until
+    // the transaction's read-only flag is known
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWritesFilter.markWrite();
+            }
+            return PRIMARY;
+        }
+        if (ReadYourWritesFilter.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        int size = replicaKeys.size();
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get(Math.floorMod(next.getAndIncrement(), size));
+            if (healthyReplicas.contains(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${cars.datasource.lag-check-interval-ms:5000}")
+    public void checkReplicaLag() {
+        replicas.forEach((key, replica) -> {
+            if (isWithinLagTolerance(key, replica)) {
+                if (healthyReplicas.add(key)) {
+                    log.info("Replica {} is back within lag tolerance, routing reads to it", key);
+                }
+            } else if (healthyReplicas.remove(key)) {
+                log.warn("Replica {} is unavailable or more than {} behind, routing its reads to the primary", key, maxLag);
+            }
+        });
+    }
+
+    boolean isWithinLagTolerance(String key, DataSource replica) {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return true;
+        }
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return true;
+            }
+            long lagSeconds = resultSet.getLong("Seconds_Behind_Source");
+            // NULL means replication is stopped
+            return !resultSet.wasNull() && lagSeconds <= maxLag.toSeconds();
+        } catch (SQLException e) {
+            log.debug("Lag check failed for replica {}", key, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
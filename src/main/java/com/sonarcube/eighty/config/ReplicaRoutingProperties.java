@@ -0,0 +1,31 @@
+package com.sonarcube.eighty.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cars.datasource")
+public class ReplicaRoutingProperties {
+    private List<Replica> replicas = new ArrayList<>();
+    // replicas further behind the primary than this stop receiving reads until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+    // must return a Seconds_Behind_Source column; no row means "not replicating" (lag 0), blank disables the check
+    private String lagQuery = "SHOW REPLICA STATUS";
+    // how long a client keeps reading from the primary after one of its requests wrote
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
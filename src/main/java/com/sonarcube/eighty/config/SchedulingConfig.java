@@ -0,0 +1,11 @@
+package com.sonarcube.eighty.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// replica lag checks, the car stats reconciliation, the search index rebuild and the change relay and purge;
+// spring.task.scheduling.pool.size gives each of them a thread
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,34 @@
+package com.sonarcube.eighty.controller;
+
+import com.sonarcube.eighty.dto.CarChangesResponse;
+import com.sonarcube.eighty.service.CarChangeService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/changes")
+public class CarChangeController {
+
+    private final CarChangeService carChangeService;
+
+    CarChangeController(CarChangeService carChangeService){
+        this.carChangeService = carChangeService;
+    }
+
+    // changes after since, oldest first; with wait=<seconds> an up to date consumer is held until something changes
+    // instead of polling, without holding a request thread while it waits
+    @GetMapping(
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public CompletableFuture<ResponseEntity<CarChangesResponse>> getChanges(
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "wait", defaultValue = "0") int wait){
+        return carChangeService.getChanges(since, limit, Duration.ofSeconds(wait))
+                .thenApply(ResponseEntity::ok);
+    }
+}
@@ -1,17 +1,40 @@
 package com.sonarcube.eighty.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.sonarcube.eighty.dto.CarBatchResponse;
+import com.sonarcube.eighty.dto.CarBulkStatusRequest;
+import com.sonarcube.eighty.dto.CarBulkStatusResponse;
+import com.sonarcube.eighty.dto.CarCursorPageResponse;
 import com.sonarcube.eighty.dto.CarDtoRequest;
 import com.sonarcube.eighty.dto.CarDtoResponse;
+import com.sonarcube.eighty.dto.CarFields;
 import com.sonarcube.eighty.dto.CarFilterParams;
+import com.sonarcube.eighty.dto.CarSliceResponse;
+import com.sonarcube.eighty.dto.CarStatsResponse;
+import com.sonarcube.eighty.exception.InvalidRequestException;
 import com.sonarcube.eighty.service.CarService;
-import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -19,46 +42,131 @@ import java.util.List;
 public class CarController {
 
     private final CarService carService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter carWriter;
+    private final ObjectReader carReader;
 
     @Autowired
-    public CarController(CarService carService) {
+    public CarController(CarService carService, ObjectMapper objectMapper) {
         this.carService = carService;
+        this.objectMapper = objectMapper;
+        this.carWriter = objectMapper.writerFor(CarDtoResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.carReader = objectMapper.readerFor(CarDtoRequest.class);
     }
 
-    @GetMapping
-    public ResponseEntity<List<CarDtoResponse>> getAllCars() {
-        List<CarDtoResponse> allCars = carService.getAllCars();
-        return ResponseEntity.ok(allCars);
+    @GetMapping(
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<MappingJacksonValue> getAllCars(@RequestParam(value = "fields", required = false) String fields) {
+        CarFields carFields = CarFields.parse(fields);
+        List<CarDtoResponse> allCars = carService.getAllCars(carFields);
+        return ResponseEntity.ok(project(allCars, carFields));
+    }
+
+    // only on its own path: on /car as well, a client without an Accept header would get the stream instead of the array
+    @GetMapping(
+            path = "/stream",
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void streamAllCars(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            carService.streamAllCars(car -> {
+                try {
+                    carWriter.writeValue(generator, car);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    // groupBy=make,year,status,electric; counts, average price and electric share per group
+    @GetMapping(
+            path = "/stats",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CarStatsResponse> getCarStats(@RequestParam(value = "groupBy", required = false) String groupBy) {
+        return ResponseEntity.ok(carService.getCarStats(groupBy));
     }
 
     @GetMapping(
             path = "/{id}",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<CarDtoResponse> getCarById(@PathVariable("id") Long id){
-        CarDtoResponse carById = carService.getCarById(id);
-        return ResponseEntity.ok(carById);
+    public ResponseEntity<MappingJacksonValue> getCarById(@PathVariable("id") Long id,
+                                                         @RequestParam(value = "fields", required = false) String fields,
+                                                         WebRequest webRequest){
+        CarFields carFields = CarFields.parse(fields);
+        // checkNotModified sets the ETag header, and the 304 status when If-None-Match matches
+        return carService.getCarById(id, carFields, webRequest::checkNotModified)
+                .map(car -> ResponseEntity.ok(project(car, carFields)))
+                .orElse(null);
     }
 
     @PostMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<CarDtoResponse> saveCar(@Valid @RequestBody CarDtoRequest carDtoRequest){
+    public ResponseEntity<CarDtoResponse> saveCar(@RequestBody CarDtoRequest carDtoRequest){
         CarDtoResponse savedCar = carService.saveCar(carDtoRequest);
         return new ResponseEntity<>(savedCar, HttpStatus.CREATED);
     }
 
+    @PostMapping(
+            path = "/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CarBatchResponse> saveCars(@RequestBody List<CarDtoRequest> carDtoRequests){
+        CarBatchResponse savedCars = carService.saveCars(carDtoRequests);
+        return new ResponseEntity<>(savedCars, HttpStatus.OK);
+    }
+
+    @PostMapping(
+            path = "/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CarBatchResponse> saveCarsFromNdjson(HttpServletRequest request) throws IOException {
+        List<CarDtoRequest> carDtoRequests = new ArrayList<>();
+        try (MappingIterator<CarDtoRequest> lines = carReader.readValues(request.getInputStream())) {
+            while (lines.hasNextValue()) {
+                carDtoRequests.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("line " + (carDtoRequests.size() + 1) + " is not a valid car");
+        }
+        CarBatchResponse savedCars = carService.saveCars(carDtoRequests);
+        return new ResponseEntity<>(savedCars, HttpStatus.OK);
+    }
+
     @PutMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE,
             path = "/{id}"
     )
-    public ResponseEntity<CarDtoResponse> updateCar(@PathVariable("id") Long id, @Valid @RequestBody CarDtoRequest carDtoRequest){
+    public ResponseEntity<CarDtoResponse> updateCar(@PathVariable("id") Long id, @RequestBody CarDtoRequest carDtoRequest){
         CarDtoResponse updateCar = carService.updateCar(id, carDtoRequest);
         return new ResponseEntity<>(updateCar, HttpStatus.OK);
     }
 
+    // every car matching the /car/filter parameters, or only the ids in the body, moves to the given status;
+    // answers with counts instead of the cars
+    @PutMapping(
+            path = "/status",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CarBulkStatusResponse> updateCarStatuses(CarFilterParams carFilterParams,
+                                                                   @RequestBody CarBulkStatusRequest carBulkStatusRequest){
+        return ResponseEntity.ok(carService.updateCarStatuses(carFilterParams, carBulkStatusRequest));
+    }
+
     @DeleteMapping(
             path = "/{id}",
             produces = MediaType.APPLICATION_JSON_VALUE
@@ -68,12 +176,52 @@ public class CarController {
         return new ResponseEntity<>(deleteCar, HttpStatus.OK);
     }
 
+    @GetMapping(
+            path = "/search",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<List<CarDtoResponse>> searchCars(@RequestParam(value = "q", required = false) String query,
+                                                           @RequestParam(value = "limit", defaultValue = "20") int limit){
+        List<CarDtoResponse> responses = carService.searchCars(query, limit);
+        return ResponseEntity.ok(responses);
+    }
+
     @GetMapping(
             path = "/filter",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<Page<CarDtoResponse>> filter(@ModelAttribute CarFilterParams carFilterParams){
+    public ResponseEntity<MappingJacksonValue> filter(CarFilterParams carFilterParams){
         Page<CarDtoResponse> responses = carService.findCarByCustomQueryV2(carFilterParams);
-        return new ResponseEntity<>(responses, HttpStatus.OK);
+        return new ResponseEntity<>(project(responses, carFilterParams.getCarFields()), HttpStatus.OK);
+    }
+
+    @GetMapping(
+            path = "/filter",
+            params = {"includeTotal=false", "!cursor"},
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<MappingJacksonValue> filterWithoutTotal(CarFilterParams carFilterParams){
+        CarSliceResponse responses = carService.findCarSliceByCustomQuery(carFilterParams);
+        return new ResponseEntity<>(project(responses, carFilterParams.getCarFields()), HttpStatus.OK);
+    }
+
+    @GetMapping(
+            path = "/filter",
+            params = "cursor",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<MappingJacksonValue> filterByCursor(CarFilterParams carFilterParams){
+        CarCursorPageResponse responses = carService.findCarByCursor(carFilterParams);
+        return new ResponseEntity<>(project(responses, carFilterParams.getCarFields()), HttpStatus.OK);
+    }
+
+    // narrows every CarDtoResponse in the body to the requested fields
+    private static MappingJacksonValue project(Object body, CarFields carFields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!carFields.isAll()) {
+            value.setFilters(new SimpleFilterProvider()
+                    .addFilter(CarFields.FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(carFields.getNames())));
+        }
+        return value;
     }
 }
@@ -6,6 +6,7 @@ import com.sonarcube.eighty.service.CarFeatureService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,8 +23,10 @@ public class CarFeatureController {
     @GetMapping(
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<List<CarFeatureResponse>> getAllCarFeatures() {
-        return ResponseEntity.ok(carFeatureService.getAllCarFeatures());
+    public ResponseEntity<List<CarFeatureResponse>> getAllCarFeatures(WebRequest webRequest) {
+        return carFeatureService.getAllCarFeatures(webRequest::checkNotModified)
+                .map(ResponseEntity::ok)
+                .orElse(null);
     }
 
     @GetMapping(
@@ -0,0 +1,42 @@
+package com.sonarcube.eighty.controller;
+
+import com.sonarcube.eighty.dto.CarImportJobResponse;
+import com.sonarcube.eighty.service.CarImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/car/import")
+public class CarImportController {
+
+    private final CarImportService carImportService;
+
+    CarImportController(CarImportService carImportService){
+        this.carImportService = carImportService;
+    }
+
+    // the body is a JSON array or NDJSON of cars, either bare or wrapped as {"car": {...}} like carData.txt
+    @PostMapping(
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CarImportJobResponse> startImport(HttpServletRequest request) throws IOException {
+        CarImportJobResponse job = carImportService.startImport(request.getInputStream());
+        return ResponseEntity.accepted()
+                .location(URI.create("/car/import/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping(
+            path = "/{id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CarImportJobResponse> getImportJob(@PathVariable("id") String id){
+        return ResponseEntity.ok(carImportService.getImportJob(id));
+    }
+}
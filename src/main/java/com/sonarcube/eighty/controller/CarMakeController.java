@@ -7,6 +7,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,9 +24,10 @@ public class CarMakeController {
     @GetMapping(
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<List<CarMakeResponse>> getAllCarModels(){
-        List<CarMakeResponse> responses = carMakeService.getAllCarMakes();
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<CarMakeResponse>> getAllCarModels(WebRequest webRequest){
+        return carMakeService.getAllCarMakes(webRequest::checkNotModified)
+                .map(ResponseEntity::ok)
+                .orElse(null);
     }
 
     @GetMapping(
@@ -6,6 +6,7 @@ import com.sonarcube.eighty.exception.InvalidRequestException;
 import com.sonarcube.eighty.exception.ResourceAlreadyExistsException;
 import com.sonarcube.eighty.exception.ResourceConversionException;
 import com.sonarcube.eighty.exception.ResourceNotFoundException;
+import com.sonarcube.eighty.exception.TooManyRequestsException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -27,29 +28,13 @@ import java.util.stream.Collectors;
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(ResourceConversionException.class)
     public ResponseEntity<ErrorDetails> handleResourceConversionException(ResourceConversionException ex, WebRequest webRequest) {
-        ErrorDetails errorDetails = ErrorDetails.builder()
-                .timestamp(new Date())
-                .status("500")
-                .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
-                .message("Resource conversion error")
-                .details(ex.getMessage())
-                .path(webRequest.getDescription(false))
-                .exception(ex.getClass().getName())
-                .build();
+        ErrorDetails errorDetails = errorDetails("500", HttpStatus.INTERNAL_SERVER_ERROR, "Resource conversion error", ex.getMessage(), webRequest.getDescription(false), ex);
         return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorDetails> handleResourceNotFoundException(ResourceNotFoundException notFoundException, WebRequest webRequest) {
-        ErrorDetails errorDetails = ErrorDetails.builder()
-                .timestamp(new Date())
-                .status("404")
-                .error(HttpStatus.NOT_FOUND.getReasonPhrase())
-                .message("Resource not found")
-                .details(notFoundException.getMessage())
-                .path(webRequest.getDescription(false))
-                .exception(notFoundException.getClass().getName())
-                .build();
+        ErrorDetails errorDetails = errorDetails("404", HttpStatus.NOT_FOUND, "Resource not found", notFoundException.getMessage(), webRequest.getDescription(false), notFoundException);
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
 
@@ -59,60 +44,34 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 .map(Class::getSimpleName)
                 .orElse("Unknown Type");
 
-        String errorMessage = String.format("Failed to convert value : '%s' to required type : '%s'", e.getValue(), requiredType);
-        ErrorDetails errorDetails = ErrorDetails.builder()
-                .timestamp(new Date())
-                .status("400")
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message(e.getErrorCode())
-                .details(errorMessage)
-                .path(webRequest.getDescription(false))
-                .exception(e.getClass().getName())
-                .build();
+        String errorMessage = "Failed to convert value : '" + e.getValue() + "' to required type : '" + requiredType + "'";
+        ErrorDetails errorDetails = errorDetails("400", HttpStatus.BAD_REQUEST, e.getErrorCode(), errorMessage, webRequest.getDescription(false), e);
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(InvalidRequestException.class)
     public ResponseEntity<ErrorDetails> handleInvalidRequestException(InvalidRequestException e, WebRequest webRequest){
-        ErrorDetails errorDetails = ErrorDetails.builder()
-                .timestamp(new Date())
-                .status("400")
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message("Field Validation Error")
-                .details(e.getMessage())
-                .path(webRequest.getDescription(false))
-                .exception(e.getClass().getName())
-                .build();
+        ErrorDetails errorDetails = errorDetails("400", HttpStatus.BAD_REQUEST, "Field Validation Error", e.getMessage(), webRequest.getDescription(false), e);
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(ResourceAlreadyExistsException.class)
     public ResponseEntity<ErrorDetails> handleResourceAlreadyExistException(ResourceAlreadyExistsException e, WebRequest webRequest){
-        ErrorDetails errorDetails = ErrorDetails.builder()
-                .timestamp(new Date())
-                .status("400")
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message("Resource already exists")
-                .details(e.getMessage())
-                .path(webRequest.getDescription(false))
-                .exception(e.getClass().getName())
-                .build();
+        ErrorDetails errorDetails = errorDetails("400", HttpStatus.BAD_REQUEST, "Resource already exists", e.getMessage(), webRequest.getDescription(false), e);
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorDetails> handleTooManyRequestsException(TooManyRequestsException e, WebRequest webRequest){
+        ErrorDetails errorDetails = errorDetails("429", HttpStatus.TOO_MANY_REQUESTS, "Too many requests", e.getMessage(), webRequest.getDescription(false), e);
+        return new ResponseEntity<>(errorDetails, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @Override
     protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
 
         String errorMessage = getString(ex);
-        ErrorDetails errorDetails = ErrorDetails.builder()
-                .timestamp(new Date())
-                .status(String.valueOf(status.value()))
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message("Malformed JSON request")
-                .details(errorMessage)
-                .path(request.getDescription(false).replace("uri=", ""))
-                .exception(ex.getClass().getName())
-                .build();
+        ErrorDetails errorDetails = errorDetails(String.valueOf(status.value()), HttpStatus.BAD_REQUEST, "Malformed JSON request", errorMessage, request.getDescription(false).replace("uri=", ""), ex);
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
@@ -121,22 +80,19 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         String message = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
-                .map(error -> String.format("'%s' %s", error.getField(), error.getDefaultMessage()))
+                .map(error -> "'" + error.getField() + "' " + error.getDefaultMessage())
                 .collect(Collectors.joining(", "));
 
-        ErrorDetails errorDetails = ErrorDetails.builder()
-                .timestamp(new Date())
-                .status("400")
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message("Field Validation Error")
-                .details(message)
-                .path(request.getDescription(false))
-                .exception(ex.getClass().getName())
-                .build();
+        ErrorDetails errorDetails = errorDetails("400", HttpStatus.BAD_REQUEST, "Field Validation Error", message, request.getDescription(false), ex);
 
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    // the body is built straight through the constructor: no builder per error, and constant status strings
+    private static ErrorDetails errorDetails(String status, HttpStatus httpStatus, String message, String details, String path, Exception e) {
+        return new ErrorDetails(new Date(), status, httpStatus.getReasonPhrase(), message, details, path, e.getClass().getName());
+    }
+
     private static String getString(HttpMessageNotReadableException ex) {
         String message = "Your request could not be processed due to invalid input.";
 
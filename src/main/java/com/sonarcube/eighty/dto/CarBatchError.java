@@ -0,0 +1,13 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarBatchError {
+    private int index;
+    private String message;
+}
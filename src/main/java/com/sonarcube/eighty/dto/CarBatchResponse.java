@@ -0,0 +1,18 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarBatchResponse {
+    private int received;
+    private int saved;
+    private int failed;
+    private List<CarDtoResponse> cars;
+    private List<CarBatchError> errors;
+}
@@ -0,0 +1,17 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CarBulkStatusRequest {
+    // active, sold, archive or deleted
+    private String status;
+    // when given, only these cars change and the filter parameters are ignored
+    private List<Long> ids;
+}
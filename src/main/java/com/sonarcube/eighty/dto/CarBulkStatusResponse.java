@@ -0,0 +1,15 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarBulkStatusResponse {
+    private CarStatus status;
+    private int matched;
+    // matched cars that already had the status are not updated again
+    private int updated;
+}
@@ -0,0 +1,6 @@
+package com.sonarcube.eighty.dto;
+
+public enum CarChangeEntity {
+    CAR,
+    MAKE
+}
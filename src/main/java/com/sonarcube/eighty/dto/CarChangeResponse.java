@@ -0,0 +1,19 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+// just enough to know what to fetch again; consumers read the current state from /car/{id} or /makes/{id}
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarChangeResponse {
+    private long sequence;
+    private CarChangeEntity entity;
+    private Long id;
+    private CarChangeType type;
+    private ZonedDateTime changedAt;
+}
@@ -0,0 +1,8 @@
+package com.sonarcube.eighty.dto;
+
+public enum CarChangeType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,17 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarChangesResponse {
+    private List<CarChangeResponse> changes;
+    // pass as since on the next call; unchanged when nothing new arrived
+    private long nextSince;
+    private boolean hasMore;
+}
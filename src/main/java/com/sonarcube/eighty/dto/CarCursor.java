@@ -0,0 +1,69 @@
+package com.sonarcube.eighty.dto;
+
+import com.sonarcube.eighty.exception.InvalidRequestException;
+import com.sonarcube.eighty.model.Car;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CarCursor {
+    // only NOT NULL columns can be walked with a (sortBy, id) seek predicate; status is NOT NULL since V11
+    public static final List<String> KEYSET_COLUMNS = List.of("id", "model", "year", "price", "previousOwner", "createdAt", "status");
+    private static final String INVALID_CURSOR = "'cursor' is invalid";
+
+    private String sortBy;
+    private Long id;
+    private String value;
+
+    public static String keysetColumn(String sortBy) {
+        return sortBy != null && KEYSET_COLUMNS.contains(sortBy) ? sortBy : "id";
+    }
+
+    public static CarCursor of(Car car, String sortBy) {
+        String value = switch (sortBy) {
+            case "model" -> car.getModel();
+            case "year" -> String.valueOf(car.getYear());
+            case "price" -> String.valueOf(car.getPrice());
+            case "previousOwner" -> String.valueOf(car.getPreviousOwner());
+            case "createdAt" -> String.valueOf(car.getCreatedAt());
+            case "status" -> car.getStatus();
+            default -> String.valueOf(car.getId());
+        };
+        return new CarCursor(sortBy, car.getId(), value);
+    }
+
+    public static CarCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", 3);
+            if (parts.length != 3 || !KEYSET_COLUMNS.contains(parts[0])) {
+                throw new InvalidRequestException(INVALID_CURSOR);
+            }
+            CarCursor cursor = new CarCursor(parts[0], Long.parseLong(parts[1]), parts[2]);
+            cursor.typedValue();
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(INVALID_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String raw = sortBy + ":" + id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Object typedValue() {
+        return switch (sortBy) {
+            case "year", "previousOwner" -> Integer.parseInt(value);
+            case "price" -> Double.parseDouble(value);
+            case "createdAt" -> Long.parseLong(value);
+            case "model", "status" -> value;
+            default -> id;
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.sonarcube.eighty.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
 
 import java.time.LocalDate;
@@ -12,6 +13,7 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 @Builder
+@JsonFilter(CarFields.FILTER)
 public class CarDtoResponse {
     private Long id;
     private String make;
@@ -0,0 +1,66 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.Getter;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Getter
+public class CarFields {
+    // property filter id on CarDtoResponse
+    public static final String FILTER = "carFields";
+    private static final List<String> NAMES = List.of("id", "make", "model", "year", "price", "electric", "features", "engine",
+            "previousOwner", "warranty", "dimensions", "createdAt", "updatedAt", "maintenanceDates", "status");
+    // JSON columns are parsed per row, so a sparse read only selects the ones in its mask
+    public static final List<String> JSON_COLUMNS = List.of("features", "engine", "warranty", "maintenanceDates", "dimensions");
+    public static final CarFields ALL = new CarFields(Set.copyOf(NAMES));
+
+    private final Set<String> names;
+    private final int jsonMask;
+
+    private CarFields(Set<String> names) {
+        this.names = names;
+        int mask = 0;
+        for (int i = 0; i < JSON_COLUMNS.size(); i++) {
+            if (names.contains(JSON_COLUMNS.get(i))) {
+                mask |= 1 << i;
+            }
+        }
+        this.jsonMask = mask;
+    }
+
+    // fields=make,model,price; unknown names are ignored and nothing recognisable means every field
+    public static CarFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim().equals("isElectric") ? "electric" : field.trim();
+            if (NAMES.contains(name)) {
+                names.add(name);
+            }
+        }
+        if (names.isEmpty()) {
+            return ALL;
+        }
+        // id is always returned so a client can fetch the rest of the car later
+        names.add("id");
+        return names.size() == NAMES.size() ? ALL : new CarFields(Set.copyOf(names));
+    }
+
+    public boolean isAll() {
+        return names.size() == NAMES.size();
+    }
+
+    public boolean includesJsonColumn(int index) {
+        return (jsonMask & (1 << index)) != 0;
+    }
+
+    // stable across requests, so it can go into an ETag
+    public String key() {
+        return NAMES.stream().filter(names::contains).collect(Collectors.joining("."));
+    }
+}
@@ -1,6 +1,13 @@
 package com.sonarcube.eighty.dto;
 import lombok.*;
 
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Data
 @Builder
 @Getter
@@ -8,6 +15,11 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CarFilterParams {
+    // looked up once instead of reflecting on every request
+    private static final Set<String> SORTABLE_FIELDS = Arrays.stream(CarDtoResponse.class.getDeclaredFields())
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
     private String make;
     private String model;
     private int year;
@@ -16,84 +28,175 @@ public class CarFilterParams {
     private int size;
     private String sortBy;
     private String sortDirection;
+    private String cursor;
+    private Double minPrice;
+    private Double maxPrice;
+    private int minYear;
+    private int maxYear;
+    private Boolean isElectric;
+    private Integer maxPreviousOwners;
+    private String fields;
 
+    // binds GET /car/filter straight from the request parameters; every setter runs, so absent values get their defaults
+    public static CarFilterParams bind(Function<String, String[]> parameters) {
+        CarFilterParams params = new CarFilterParams();
+        params.setMake(joined(parameters.apply("make")));
+        params.setModel(first(parameters.apply("model")));
+        params.setYear(first(parameters.apply("year")));
+        params.setStatus(joined(parameters.apply("status")));
+        params.setPage(first(parameters.apply("page")));
+        params.setSize(first(parameters.apply("size")));
+        params.setSortBy(first(parameters.apply("sortBy")));
+        params.setSortDirection(first(parameters.apply("sortDirection")));
+        params.setCursor(first(parameters.apply("cursor")));
+        params.setMinPrice(first(parameters.apply("minPrice")));
+        params.setMaxPrice(first(parameters.apply("maxPrice")));
+        params.setMinYear(first(parameters.apply("minYear")));
+        params.setMaxYear(first(parameters.apply("maxYear")));
+        params.setIsElectric(first(parameters.apply("isElectric")));
+        params.setMaxPreviousOwners(first(parameters.apply("maxPreviousOwners")));
+        params.setFields(joined(parameters.apply("fields")));
+        return params;
+    }
 
-    public void setCarStatus(String status) {
-        boolean isStatus;
-        try {
-            CarStatus.fromValue(status);
-            isStatus = true;
-        } catch (IllegalArgumentException e) {
-            isStatus = false;
-        }
-        if (!isStatus) {
-            this.status = CarStatus.ACTIVE.getValue(); // default value
-        } else {
-            this.status = CarStatus.fromValue(status).getValue();
-        }
+    // make and status take comma separated lists (make=Honda,Toyota); repeated parameters are joined the same way
+    public List<String> getMakes() {
+        return splitValues(make);
     }
 
+    public List<String> getStatuses() {
+        // known statuses are normalised to their stored value, unknown ones are kept and simply match nothing
+        return splitValues(status).stream()
+                .map(value -> {
+                    CarStatus carStatus = CarStatus.find(value);
+                    return carStatus != null ? carStatus.getValue() : value;
+                })
+                .distinct()
+                .toList();
+    }
 
-    public void setSortBy(String sortBy) {
-        boolean isAttribute;
-        try {
-            CarDtoResponse.class.getDeclaredField(sortBy);
-            isAttribute = true;
-        } catch (NoSuchFieldException e) {
-            isAttribute = false;
-        }
+    public CarFields getCarFields() {
+        return CarFields.parse(fields);
+    }
+
+    public void setCarStatus(String status) {
+        CarStatus carStatus = CarStatus.find(status);
+        this.status = carStatus != null ? carStatus.getValue() : CarStatus.ACTIVE.getValue(); // default value
+    }
 
+    public void setSortBy(String sortBy) {
         // if the value is not attribute of the CarDtoResponse class, it will be set to default value
-        if (!isAttribute) {
-            this.sortBy = "id"; // default value
-        } else {
-            this.sortBy = sortBy;
-        }
+        this.sortBy = sortBy != null && SORTABLE_FIELDS.contains(sortBy) ? sortBy : "id";
     }
 
     public void setSortDirection(String sortDirection) {
-        boolean isDirection;
-        isDirection = sortDirection.equalsIgnoreCase("ASC") || sortDirection.equalsIgnoreCase("DESC");
-        if (!isDirection) {
-            this.sortDirection = "ASC"; // default value
-        } else {
-            this.sortDirection = sortDirection;
-        }
+        boolean isDirection = "ASC".equalsIgnoreCase(sortDirection) || "DESC".equalsIgnoreCase(sortDirection);
+        this.sortDirection = isDirection ? sortDirection : "ASC"; // default value
     }
 
     public void setYear(String year) {
-        if (year == null || year.isEmpty()) {
-            this.year = 0; // default value
-        } else {
-            try {
-                this.year = Integer.parseInt(year);
-            } catch (NumberFormatException e) {
-                this.year = 0; // default value in case of format error
-            }
-        }
+        this.year = parseInt(year, 0);
     }
 
     public void setPage(String page) {
-        if (page == null || page.isEmpty()) {
-            this.page = 0; // default value
+        this.page = parseInt(page, 0);
+    }
+
+    public void setSize(String size) {
+        this.size = parseInt(size, 10);
+    }
+
+    public void setMinPrice(String minPrice) {
+        this.minPrice = parsePrice(minPrice);
+    }
+
+    public void setMaxPrice(String maxPrice) {
+        this.maxPrice = parsePrice(maxPrice);
+    }
+
+    public void setMinYear(String minYear) {
+        this.minYear = parseInt(minYear, 0);
+    }
+
+    public void setMaxYear(String maxYear) {
+        this.maxYear = parseInt(maxYear, 0);
+    }
+
+    public void setIsElectric(String isElectric) {
+        // anything but true/false leaves the filter off
+        if ("true".equalsIgnoreCase(isElectric) || "false".equalsIgnoreCase(isElectric)) {
+            this.isElectric = Boolean.valueOf(isElectric);
         } else {
-            try {
-                this.page = Integer.parseInt(page);
-            } catch (NumberFormatException e) {
-                this.page = 0; // default value in case of format error
+            this.isElectric = null;
+        }
+    }
+
+    public void setMaxPreviousOwners(String maxPreviousOwners) {
+        int parsed = parseInt(maxPreviousOwners, -1);
+        this.maxPreviousOwners = parsed >= 0 ? parsed : null; // filter off when missing or malformed
+    }
+
+    // malformed values fall back to their default without throwing, since bad query strings are routine
+    static int parseInt(String value, int fallback) {
+        if (value == null || value.isEmpty() || value.length() > 10) {
+            return fallback;
+        }
+        boolean negative = value.charAt(0) == '-';
+        int start = negative || value.charAt(0) == '+' ? 1 : 0;
+        if (start == value.length()) {
+            return fallback;
+        }
+        long result = 0;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return fallback;
             }
+            result = result * 10 + (c - '0');
         }
+        result = negative ? -result : result;
+        return result >= Integer.MIN_VALUE && result <= Integer.MAX_VALUE ? (int) result : fallback;
     }
 
-    public void setSize(String size) {
-        if (size == null || size.isEmpty()) {
-            this.size = 10; // default value
-        } else {
-            try {
-                this.size = Integer.parseInt(size);
-            } catch (NumberFormatException e) {
-                this.size = 10; // default value in case of format error
+    static Double parsePrice(String value) {
+        if (value == null || value.isEmpty() || value.length() > 20) {
+            return null;
+        }
+        // plain decimals only (digits with at most one dot), which Double.parseDouble always accepts
+        boolean digits = false;
+        boolean dot = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return null;
             }
         }
+        return digits ? Double.parseDouble(value) : null;
+    }
+
+    private static String first(String[] values) {
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    private static String joined(String[] values) {
+        if (values == null || values.length == 0) {
+            return null;
+        }
+        return values.length == 1 ? values[0] : String.join(",", values);
+    }
+
+    private static List<String> splitValues(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .distinct()
+                .toList();
     }
 }
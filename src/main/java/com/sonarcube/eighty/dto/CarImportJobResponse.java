@@ -0,0 +1,25 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.*;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarImportJobResponse {
+    private String id;
+    private CarImportStatus status;
+    private int received;
+    private int saved;
+    private int failed;
+    private double carsPerSecond;
+    private ZonedDateTime startedAt;
+    private ZonedDateTime finishedAt;
+    // why a FAILED job stopped early; cars from earlier chunks stay saved
+    private String message;
+    private List<CarBatchError> errors;
+}
@@ -0,0 +1,8 @@
+package com.sonarcube.eighty.dto;
+
+public enum CarImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
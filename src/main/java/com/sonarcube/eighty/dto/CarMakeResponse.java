@@ -9,6 +9,7 @@ import java.time.ZonedDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@ToString
 public class CarMakeResponse {
     private Long id;
     private String name;
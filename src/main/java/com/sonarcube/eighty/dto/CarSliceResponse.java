@@ -0,0 +1,17 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarSliceResponse {
+    private List<CarDtoResponse> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
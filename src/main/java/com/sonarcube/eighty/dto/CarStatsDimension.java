@@ -0,0 +1,48 @@
+package com.sonarcube.eighty.dto;
+
+import com.sonarcube.eighty.exception.InvalidRequestException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum CarStatsDimension {
+    MAKE("make"),
+    YEAR("year"),
+    STATUS("status"),
+    ELECTRIC("electric");
+
+    private final String value;
+
+    CarStatsDimension(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    // groupBy=make,year; nothing given groups by make, which is what the dashboards ask for
+    public static Set<CarStatsDimension> parse(String groupBy) {
+        if (groupBy == null || groupBy.isBlank()) {
+            return EnumSet.of(MAKE);
+        }
+        Set<CarStatsDimension> dimensions = EnumSet.noneOf(CarStatsDimension.class);
+        for (String name : groupBy.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            dimensions.add(find(trimmed.equals("isElectric") ? ELECTRIC.value : trimmed));
+        }
+        return dimensions.isEmpty() ? EnumSet.of(MAKE) : dimensions;
+    }
+
+    private static CarStatsDimension find(String value) {
+        for (CarStatsDimension dimension : values()) {
+            if (dimension.value.equals(value)) {
+                return dimension;
+            }
+        }
+        throw new InvalidRequestException("'groupBy' must be any of make, year, status, electric");
+    }
+}
@@ -0,0 +1,21 @@
+package com.sonarcube.eighty.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+// one row of /car/stats; dimensions that are not grouped on stay null and are left out of the JSON
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CarStatsGroup {
+    private String make;
+    private Integer year;
+    private String status;
+    private Boolean electric;
+    private long count;
+    private double averagePrice;
+    private double electricShare;
+}
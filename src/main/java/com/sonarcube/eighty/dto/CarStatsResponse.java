@@ -0,0 +1,16 @@
+package com.sonarcube.eighty.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarStatsResponse {
+    private List<String> groupBy;
+    private long count;
+    private List<CarStatsGroup> groups;
+}
@@ -2,12 +2,22 @@ package com.sonarcube.eighty.dto;
 
 import com.sonarcube.eighty.exception.ResourceConversionException;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 public enum CarStatus {
     ACTIVE("active"),
     SOLD("sold"),
     ARCHIVE("archive"),
     DELETED("deleted");
 
+    // built once; values() copies the array on every call
+    private static final Map<String, CarStatus> BY_VALUE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(status -> status.value, Function.identity()));
+
     private final String value;
 
     CarStatus(String value) {
@@ -18,12 +28,20 @@ public enum CarStatus {
         return value;
     }
 
+    // null for anything that is not a status, for callers that fall back instead of failing
+    public static CarStatus find(String value) {
+        if (value == null) {
+            return null;
+        }
+        CarStatus status = BY_VALUE.get(value);
+        return status != null ? status : BY_VALUE.get(value.toLowerCase(Locale.ROOT));
+    }
+
     public static CarStatus fromValue(String value) {
-        for (CarStatus status : CarStatus.values()) {
-            if (status.value.equalsIgnoreCase(value)) {
-                return status;
-            }
+        CarStatus status = find(value);
+        if (status == null) {
+            throw new ResourceConversionException("Car","CarDtoResponse");
         }
-        throw new ResourceConversionException("Car","CarDtoResponse");
+        return status;
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,5 @@
 package com.sonarcube.eighty.dto;
 
-import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotEmpty;
 import lombok.*;
 
 @Getter
@@ -9,12 +7,10 @@ import lombok.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@EqualsAndHashCode
 public class Engine {
-    @NotEmpty
     private String type;
-    @Min(value = 0)
     private int horsepower;
-    @Min(value = 0)
     private int torque;
 
     @Override
@@ -0,0 +1,16 @@
+package com.sonarcube.eighty.exception;
+
+// client errors (unknown ids, bad input) are routine, so by default they skip filling in a stack trace;
+// cars.errors.stack-traces=true brings the traces back while debugging. Only 4xx exceptions extend this class,
+// a 5xx is a fault whose trace is the only diagnostic
+public abstract class DomainException extends RuntimeException{
+    private static volatile boolean stackTraces = false;
+
+    protected DomainException(String message) {
+        super(message, null, false, stackTraces);
+    }
+
+    public static void setStackTraces(boolean enabled) {
+        stackTraces = enabled;
+    }
+}
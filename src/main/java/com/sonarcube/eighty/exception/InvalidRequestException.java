@@ -1,6 +1,6 @@
 package com.sonarcube.eighty.exception;
 
-public class InvalidRequestException extends RuntimeException{
+public class InvalidRequestException extends DomainException{
     public InvalidRequestException(String message) {
         super(message);
     }
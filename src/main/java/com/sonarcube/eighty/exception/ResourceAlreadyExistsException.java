@@ -4,8 +4,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class ResourceAlreadyExistsException extends RuntimeException{
+public class ResourceAlreadyExistsException extends DomainException{
     public ResourceAlreadyExistsException(String resourceName, String fieldName, Object fieldValue){
-        super(String.format("%s already exists with %s : '%s'", resourceName, fieldName, fieldValue));
+        super(resourceName + " already exists with " + fieldName + " : '" + fieldValue + "'");
     }
 }
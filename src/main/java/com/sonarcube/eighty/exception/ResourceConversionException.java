@@ -3,6 +3,7 @@ package com.sonarcube.eighty.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+// a server fault, not routine client input, so it keeps its stack trace and cause and stays out of DomainException
 @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
 public class ResourceConversionException extends RuntimeException
 {
@@ -10,4 +11,9 @@ public class ResourceConversionException extends RuntimeException
     {
         super("Error while serializing " + resourceName + " to " + targetName);
     }
+
+    public ResourceConversionException(String resourceName, String targetName, Throwable cause)
+    {
+        super("Error while serializing " + resourceName + " to " + targetName, cause);
+    }
 }
@@ -4,8 +4,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class ResourceNotFoundException extends RuntimeException{
+public class ResourceNotFoundException extends DomainException{
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue){
-        super(String.format("%s not found with %s : '%s'", resourceName, fieldName, fieldValue));
+        super(resourceName + " not found with " + fieldName + " : '" + fieldValue + "'");
     }
 }
@@ -0,0 +1,11 @@
+package com.sonarcube.eighty.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends DomainException{
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,15 @@
 package com.sonarcube.eighty.model;
 
+import com.sonarcube.eighty.dto.Dimensions;
+import com.sonarcube.eighty.dto.Engine;
+import com.sonarcube.eighty.dto.Warranty;
+import com.sonarcube.eighty.util.converter.*;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Entity
 @Getter
 @Setter
@@ -12,8 +19,17 @@ import lombok.*;
 @Table(name = "car")
 @ToString
 public class Car {
+    // IDENTITY would force one INSERT round trip per row; a pooled table generator lets Hibernate batch them
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "car_id")
+    @TableGenerator(
+            name = "car_id",
+            table = "car_id_generator",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "car",
+            allocationSize = 50
+    )
     private Long id;
     @Column(name = "model")
     private String model;
@@ -24,24 +40,33 @@ public class Car {
     @Column(name = "is_electric")
     private boolean isElectric;
     @Column(name = "features")
-    private String features;
+    @Convert(converter = StringListConverter.class)
+    private List<String> features;
     @Column(name = "engine_specs")
-    private String engine;
+    @Convert(converter = EngineConverter.class)
+    private Engine engine;
     @Column(name = "previous_owner")
     private int previousOwner;
     @Column(name = "warranty")
-    private String warranty;
+    @Convert(converter = WarrantyConverter.class)
+    private Warranty warranty;
     @Column(name = "maintenance_dates")
-    private String maintenanceDates;
+    @Convert(converter = LocalDateListConverter.class)
+    private List<LocalDate> maintenanceDates;
     @Column(name = "dimensions")
-    private String dimensions;
+    @Convert(converter = DimensionsConverter.class)
+    private Dimensions dimensions;
     @Column(name = "created_at")
     private Long createdAt;
     @Column(name = "updated_at")
     private Long updatedAt;
-    @Column(name = "status")
+    @Column(name = "status", nullable = false)
     private String status;
-    @ManyToOne
+    @Version
+    @Column(name = "version")
+    private Long version;
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "make_id", nullable = false)
+    @ToString.Exclude
     private CarMake carMake;
 }
@@ -1,10 +1,15 @@
 package com.sonarcube.eighty.model;
 
+import com.sonarcube.eighty.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.CAR_BODY_STYLE_REGION)
 @Table(name = "car_body_style")
 @AllArgsConstructor
 @NoArgsConstructor
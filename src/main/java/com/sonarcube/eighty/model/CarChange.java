@@ -0,0 +1,30 @@
+package com.sonarcube.eighty.model;
+
+import com.sonarcube.eighty.dto.CarChangeEntity;
+import com.sonarcube.eighty.dto.CarChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+// rows are only ever inserted by the relay's INSERT ... SELECT, this side just reads them
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "car_change")
+public class CarChange {
+    @Id
+    @Column(name = "sequence")
+    private Long sequence;
+    @Column(name = "entity")
+    @Enumerated(EnumType.STRING)
+    private CarChangeEntity entity;
+    @Column(name = "entity_id")
+    private Long entityId;
+    @Column(name = "type")
+    @Enumerated(EnumType.STRING)
+    private CarChangeType type;
+    @Column(name = "created_at")
+    private Long createdAt;
+}
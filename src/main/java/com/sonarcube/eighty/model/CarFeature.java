@@ -1,12 +1,17 @@
 package com.sonarcube.eighty.model;
 
+import com.sonarcube.eighty.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Setter
 @Getter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.CAR_FEATURE_REGION)
 @Table(name = "car_feature")
 @AllArgsConstructor
 @NoArgsConstructor
@@ -1,11 +1,16 @@
 package com.sonarcube.eighty.model;
 
+import com.sonarcube.eighty.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.CAR_MAKE_REGION)
 @Table(name = "car_make")
 @Getter
 @Setter
@@ -33,6 +38,10 @@ public class CarMake {
     @Column(name = "deleted_at")
     private Long deletedAt;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @OneToMany(mappedBy = "carMake", cascade = CascadeType.ALL)
     private List<Car> cars;
 
@@ -45,6 +54,7 @@ public class CarMake {
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 ", deletedAt=" + deletedAt +
+                ", version=" + version +
                 '}';
     }
 }
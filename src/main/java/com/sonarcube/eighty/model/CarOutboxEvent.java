@@ -0,0 +1,49 @@
+package com.sonarcube.eighty.model;
+
+import com.sonarcube.eighty.dto.CarChangeEntity;
+import com.sonarcube.eighty.dto.CarChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "car_outbox")
+public class CarOutboxEvent {
+    // pooled like the car id, so the events of a batch save go out in the same JDBC batches as the cars
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "car_outbox_id")
+    @TableGenerator(
+            name = "car_outbox_id",
+            table = "car_id_generator",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "car_outbox",
+            allocationSize = 50
+    )
+    private Long id;
+    @Column(name = "entity")
+    @Enumerated(EnumType.STRING)
+    private CarChangeEntity entity;
+    @Column(name = "entity_id")
+    private Long entityId;
+    @Column(name = "type")
+    @Enumerated(EnumType.STRING)
+    private CarChangeType type;
+    @Column(name = "created_at")
+    private Long createdAt;
+
+    public static CarOutboxEvent of(CarChangeEntity entity, Long entityId, CarChangeType type) {
+        return CarOutboxEvent.builder()
+                .entity(entity)
+                .entityId(entityId)
+                .type(type)
+                .createdAt(ZonedDateTime.now().toEpochSecond())
+                .build();
+    }
+}
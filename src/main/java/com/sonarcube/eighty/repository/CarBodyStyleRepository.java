@@ -1,10 +1,19 @@
 package com.sonarcube.eighty.repository;
 
 import com.sonarcube.eighty.model.CarBodyStyle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CarBodyStyleRepository extends JpaRepository<CarBodyStyle, Long> {
     Optional<CarBodyStyle> findByName(String name);
+
+    // served from the second-level query cache until a body style is written
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CarBodyStyle> findAll();
 }
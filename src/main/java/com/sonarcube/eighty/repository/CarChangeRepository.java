@@ -0,0 +1,30 @@
+package com.sonarcube.eighty.repository;
+
+import com.sonarcube.eighty.model.CarChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CarChangeRepository extends JpaRepository<CarChange, Long> {
+
+    List<CarChange> findBySequenceGreaterThanOrderBySequenceAsc(long since, Limit limit);
+
+    @Query("SELECT MAX(c.sequence) FROM CarChange c")
+    Long findLastSequence();
+
+    // the row lock keeps relays on different instances from numbering changes at the same time
+    @Query(value = "SELECT next_val FROM car_id_generator WHERE sequence_name = 'car_change' FOR UPDATE", nativeQuery = true)
+    Long lockNextSequence();
+
+    @Modifying
+    @Query(value = "UPDATE car_id_generator SET next_val = :nextSequence WHERE sequence_name = 'car_change'", nativeQuery = true)
+    int updateNextSequence(@Param("nextSequence") long nextSequence);
+
+    @Modifying
+    @Query("DELETE FROM CarChange c WHERE c.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") long before);
+}
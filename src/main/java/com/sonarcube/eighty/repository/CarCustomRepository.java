@@ -1,13 +1,39 @@
 package com.sonarcube.eighty.repository;
 
+import com.sonarcube.eighty.dto.CarCursor;
+import com.sonarcube.eighty.dto.CarFields;
 import com.sonarcube.eighty.dto.CarFilterParams;
 import com.sonarcube.eighty.model.Car;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface CarCustomRepository {
     Page<Car> findCarWithCustomQueryV2(
             CarFilterParams carFilterParams,
             Pageable pageable
     );
+
+    Slice<Car> findCarSliceWithCustomQuery(
+            CarFilterParams carFilterParams,
+            Pageable pageable
+    );
+
+    List<Car> findCarWithKeyset(
+            CarFilterParams carFilterParams,
+            CarCursor after,
+            int limit
+    );
+
+    List<Car> findAllProjected(CarFields fields);
+
+    Optional<Car> findProjectedById(Long id, CarFields fields);
+
+    List<Car> findStatusRows(CarFilterParams carFilterParams, long afterId, int limit);
+
+    List<Car> findStatusRowsById(Collection<Long> ids);
 }
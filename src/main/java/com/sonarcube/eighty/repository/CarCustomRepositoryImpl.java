@@ -1,19 +1,28 @@
 package com.sonarcube.eighty.repository;
 
+import com.sonarcube.eighty.dto.CarCursor;
+import com.sonarcube.eighty.dto.CarFields;
 import com.sonarcube.eighty.dto.CarFilterParams;
 import com.sonarcube.eighty.model.Car;
 import com.sonarcube.eighty.model.CarMake;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
+
+import static com.sonarcube.eighty.config.CacheConfig.CAR_FILTER_COUNT;
 
 @RequiredArgsConstructor
 @Service
@@ -21,59 +30,143 @@ public class CarCustomRepositoryImpl implements CarCustomRepository{
 
     private final EntityManager entity;
     private final CarMakeRepository carMakeRepository;
+    private final CacheManager cacheManager;
+    private final CarFilterQueries carFilterQueries;
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<Car> findCarWithCustomQueryV2(CarFilterParams carFilterParams, Pageable pageable) {
-        CarMake carMake = carMakeRepository.findByName(carFilterParams.getMake()).orElse(null);
-        StringBuilder sql = createQuery(carMake, carFilterParams);
-        TypedQuery<Car> query = entity.createQuery(sql.toString(), Car.class);
-        setQueryParam(carMake, carFilterParams, query);
+        List<CarMake> carMakes = findCarMakes(carFilterParams);
+        int mask = CarFilterQueries.mask(carMakes, carFilterParams);
+        CarFields fields = carFilterParams.getCarFields();
+        TypedQuery<?> query = createQuery(carFilterQueries.page(mask, carFilterParams.getSortBy(), carFilterParams.getSortDirection(), fields), fields);
+        CarFilterQueries.bind(query, mask, carMakes, carFilterParams);
         // Set pagination parameters
         query.setFirstResult((int) pageable.getOffset());
         query.setMaxResults(pageable.getPageSize());
-        List<Car> cars = query.getResultList();
-
-        // Get the total count of results
-        String countSql = sql.toString().replace("SELECT c FROM Car c", "SELECT COUNT(c) FROM Car c");
-        TypedQuery<Long> countQuery = entity.createQuery(countSql, Long.class);
-        setQueryParam(carMake, carFilterParams, countQuery);
-        long totalCount = countQuery.getSingleResult();
-        return new PageImpl<>(cars, pageable, totalCount);
+        List<Car> cars = getResultList(query, fields);
+
+        // Get the total count of results, reusing a recent count for the same predicate while paging
+        Cache countCache = Objects.requireNonNull(cacheManager.getCache(CAR_FILTER_COUNT));
+        Long totalCount = countCache.get(countKey(mask, carMakes, carFilterParams), () -> {
+            TypedQuery<Long> countQuery = entity.createQuery(carFilterQueries.count(mask), Long.class);
+            CarFilterQueries.bind(countQuery, mask, carMakes, carFilterParams);
+            return countQuery.getSingleResult();
+        });
+        return new PageImpl<>(cars, pageable, Objects.requireNonNull(totalCount));
     }
 
-    private StringBuilder createQuery(CarMake carMake, CarFilterParams carFilterParams) {
-        StringBuilder sql = new StringBuilder("SELECT c FROM Car c WHERE 1=1");
-        if (Objects.nonNull(carMake)) {
-            sql.append(" AND c.carMake = :carMake");
-        }
-        if (!carFilterParams.getModel().isEmpty() && !carFilterParams.getModel().isBlank()) {
-            sql.append(" AND c.model LIKE :model");
-        }
-        if (carFilterParams.getYear() > 0) {
-            sql.append(" AND c.year = :year");
-        }
-        if (carFilterParams.getStatus().describeConstable().isPresent()) {
-            sql.append(" AND c.status = :status");
-        }
-        if (!carFilterParams.getSortBy().isEmpty() && !carFilterParams.getSortDirection().isEmpty()) {
-            sql.append(" ORDER BY c.").append(carFilterParams.getSortBy()).append(" ").append(carFilterParams.getSortDirection());
-        }
-        return sql;
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Car> findCarSliceWithCustomQuery(CarFilterParams carFilterParams, Pageable pageable) {
+        List<CarMake> carMakes = findCarMakes(carFilterParams);
+        int mask = CarFilterQueries.mask(carMakes, carFilterParams);
+        CarFields fields = carFilterParams.getCarFields();
+        TypedQuery<?> query = createQuery(carFilterQueries.page(mask, carFilterParams.getSortBy(), carFilterParams.getSortDirection(), fields), fields);
+        CarFilterQueries.bind(query, mask, carMakes, carFilterParams);
+        query.setFirstResult((int) pageable.getOffset());
+        // one extra row tells us whether another page exists without counting
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<Car> cars = getResultList(query, fields);
+        boolean hasNext = cars.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? cars.subList(0, pageable.getPageSize()) : cars, pageable, hasNext);
     }
 
-    private void setQueryParam(CarMake carMake, CarFilterParams carFilterParams, TypedQuery<?> query) {
-        if (Objects.nonNull(carMake)) {
-            query.setParameter("carMake", carMake);
+    @Override
+    @Transactional(readOnly = true)
+    public List<Car> findCarWithKeyset(CarFilterParams carFilterParams, CarCursor after, int limit) {
+        List<CarMake> carMakes = findCarMakes(carFilterParams);
+        int mask = CarFilterQueries.mask(carMakes, carFilterParams);
+        CarFields fields = carFilterParams.getCarFields();
+        String sortBy = CarCursor.keysetColumn(carFilterParams.getSortBy());
+        String sql = carFilterQueries.keyset(mask, sortBy, carFilterParams.getSortDirection(), Objects.nonNull(after), fields);
+        TypedQuery<?> query = createQuery(sql, fields);
+        CarFilterQueries.bind(query, mask, carMakes, carFilterParams);
+        if (Objects.nonNull(after)) {
+            query.setParameter("lastId", after.getId());
+            if (!sortBy.equals("id")) {
+                query.setParameter("lastValue", after.typedValue());
+            }
         }
-        if (!carFilterParams.getModel().isEmpty() && !carFilterParams.getModel().isBlank()) {
-            query.setParameter("model", "%" + carFilterParams.getModel() + "%");
+        query.setMaxResults(limit);
+        return getResultList(query, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Car> findAllProjected(CarFields fields) {
+        TypedQuery<Object[]> query = entity.createQuery(CarProjections.select(fields) + " ORDER BY c.id", Object[].class);
+        return getResultList(query, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Car> findProjectedById(Long id, CarFields fields) {
+        TypedQuery<Object[]> query = entity.createQuery(CarProjections.select(fields) + " WHERE c.id = :id", Object[].class);
+        query.setParameter("id", id);
+        return getResultList(query, fields).stream().findFirst();
+    }
+
+    // partially filled cars (id, year, price, electric, status, make) in id order, read in the caller's chunk transaction
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Car> findStatusRows(CarFilterParams carFilterParams, long afterId, int limit) {
+        List<CarMake> carMakes = findCarMakes(carFilterParams);
+        // unlike /car/filter, a make that does not exist matches nothing, so a typo cannot widen an update to every make
+        if (carMakes.isEmpty() && !carFilterParams.getMakes().isEmpty()) {
+            return List.of();
         }
-        if (carFilterParams.getYear() > 0) {
-            query.setParameter("year", carFilterParams.getYear());
+        int mask = CarFilterQueries.mask(carMakes, carFilterParams);
+        TypedQuery<Object[]> query = entity.createQuery(carFilterQueries.statusRows(mask), Object[].class);
+        CarFilterQueries.bind(query, mask, carMakes, carFilterParams);
+        query.setParameter("lastId", afterId);
+        query.setMaxResults(limit);
+        return query.getResultList().stream().map(CarProjections::toStatusRow).toList();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Car> findStatusRowsById(Collection<Long> ids) {
+        TypedQuery<Object[]> query = entity.createQuery(CarProjections.SELECT_STATUS_ROWS + " WHERE c.id IN :ids ORDER BY c.id", Object[].class);
+        query.setParameter("ids", ids);
+        return query.getResultList().stream().map(CarProjections::toStatusRow).toList();
+    }
+
+    private TypedQuery<?> createQuery(String sql, CarFields fields) {
+        return fields.isAll() ? entity.createQuery(sql, Car.class) : entity.createQuery(sql, Object[].class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Car> getResultList(TypedQuery<?> query, CarFields fields) {
+        if (fields.isAll()) {
+            return (List<Car>) query.getResultList();
         }
-        if (carFilterParams.getStatus().describeConstable().isPresent()) {
-            query.setParameter("status", carFilterParams.getStatus());
+        return query.getResultList().stream()
+                .map(row -> CarProjections.toCar((Object[]) row, fields))
+                .toList();
+    }
+
+    // unknown names are dropped, as a single unknown make has always meant "any make"
+    private List<CarMake> findCarMakes(CarFilterParams carFilterParams) {
+        List<CarMake> carMakes = new ArrayList<>();
+        for (String name : carFilterParams.getMakes()) {
+            carMakeRepository.findByName(name).ifPresent(carMakes::add);
         }
+        return carMakes;
+    }
+
+    private String countKey(int mask, List<CarMake> carMakes, CarFilterParams carFilterParams) {
+        StringBuilder key = new StringBuilder().append(mask);
+        carMakes.forEach(carMake -> key.append(',').append(carMake.getId()));
+        key.append('|').append((mask & CarFilterQueries.MODEL) != 0 ? carFilterParams.getModel() : "")
+                .append('|').append(carFilterParams.getYear())
+                .append('|').append(carFilterParams.getStatuses())
+                .append('|').append(carFilterParams.getMinPrice())
+                .append('|').append(carFilterParams.getMaxPrice())
+                .append('|').append(carFilterParams.getMinYear())
+                .append('|').append(carFilterParams.getMaxYear())
+                .append('|').append(carFilterParams.getIsElectric())
+                .append('|').append(carFilterParams.getMaxPreviousOwners());
+        return key.toString().toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,242 @@
+package com.sonarcube.eighty.repository;
+
+import com.sonarcube.eighty.dto.CarCursor;
+import com.sonarcube.eighty.dto.CarFields;
+import com.sonarcube.eighty.dto.CarFilterParams;
+import com.sonarcube.eighty.model.CarMake;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+// each filter query is built once per predicate combination, so a request only picks a string and binds
+// parameters, and Hibernate sees a bounded set of identical strings it can keep in its query plan cache
+@Component
+public class CarFilterQueries {
+    public static final int MAKE = 1;
+    public static final int MODEL = 1 << 1;
+    public static final int YEAR = 1 << 2;
+    public static final int STATUS = 1 << 3;
+    public static final int MIN_PRICE = 1 << 4;
+    public static final int MAX_PRICE = 1 << 5;
+    public static final int MIN_YEAR = 1 << 6;
+    public static final int MAX_YEAR = 1 << 7;
+    public static final int ELECTRIC = 1 << 8;
+    public static final int MAX_OWNERS = 1 << 9;
+    private static final int COMBINATIONS = 1 << 10;
+    // make/model/year/status cover nearly every request, so those shapes are built at startup and the rest on first use
+    private static final int PRECOMPILED = 1 << 4;
+
+    // request sort values we are willing to put into ORDER BY; anything else sorts by id
+    static final List<String> SORT_COLUMNS = List.of("id", "make", "model", "year", "price", "isElectric", "previousOwner", "createdAt", "updatedAt", "status");
+    private static final List<String> KEYSET_COLUMNS = CarCursor.KEYSET_COLUMNS;
+    private static final String[] DIRECTIONS = {"ASC", "DESC"};
+
+    // the make is fetched in the same round trip, since every converted car reads its name
+    private static final String SELECT_CARS = "SELECT c FROM Car c JOIN FETCH c.carMake";
+    private static final String COUNT_CARS = "SELECT COUNT(c) FROM Car c";
+
+    // flat tables indexed by mask, column and direction; a racing first use only builds the same string twice
+    private final String[] counts = new String[COMBINATIONS];
+    private final String[] pages = new String[COMBINATIONS * SORT_COLUMNS.size() * DIRECTIONS.length];
+    // keyset entries come in pairs: the first page, then the page after a cursor
+    private final String[] keysets = new String[COMBINATIONS * KEYSET_COLUMNS.size() * DIRECTIONS.length * 2];
+    private final String[] statusRows = new String[COMBINATIONS];
+
+    public CarFilterQueries() {
+        for (int mask = 0; mask < PRECOMPILED; mask++) {
+            count(mask);
+            for (String direction : DIRECTIONS) {
+                for (String sortBy : SORT_COLUMNS) {
+                    page(mask, sortBy, direction);
+                }
+                for (String sortBy : KEYSET_COLUMNS) {
+                    keyset(mask, sortBy, direction, false);
+                    keyset(mask, sortBy, direction, true);
+                }
+            }
+        }
+    }
+
+    public static int mask(List<CarMake> carMakes, CarFilterParams carFilterParams) {
+        int mask = 0;
+        if (!carMakes.isEmpty()) {
+            mask |= MAKE;
+        }
+        if (carFilterParams.getModel() != null && !carFilterParams.getModel().isBlank()) {
+            mask |= MODEL;
+        }
+        if (carFilterParams.getYear() > 0) {
+            mask |= YEAR;
+        }
+        if (!carFilterParams.getStatuses().isEmpty()) {
+            mask |= STATUS;
+        }
+        if (Objects.nonNull(carFilterParams.getMinPrice())) {
+            mask |= MIN_PRICE;
+        }
+        if (Objects.nonNull(carFilterParams.getMaxPrice())) {
+            mask |= MAX_PRICE;
+        }
+        if (carFilterParams.getMinYear() > 0) {
+            mask |= MIN_YEAR;
+        }
+        if (carFilterParams.getMaxYear() > 0) {
+            mask |= MAX_YEAR;
+        }
+        if (Objects.nonNull(carFilterParams.getIsElectric())) {
+            mask |= ELECTRIC;
+        }
+        if (Objects.nonNull(carFilterParams.getMaxPreviousOwners())) {
+            mask |= MAX_OWNERS;
+        }
+        return mask;
+    }
+
+    public String count(int mask) {
+        String sql = counts[mask];
+        if (sql == null) {
+            sql = COUNT_CARS + where(mask);
+            counts[mask] = sql;
+        }
+        return sql;
+    }
+
+    public String page(int mask, String sortBy, String sortDirection) {
+        int sort = Math.max(SORT_COLUMNS.indexOf(sortBy), 0);
+        int direction = direction(sortDirection);
+        int index = (mask * SORT_COLUMNS.size() + sort) * DIRECTIONS.length + direction;
+        String sql = pages[index];
+        if (sql == null) {
+            sql = SELECT_CARS + where(mask) + orderBy(SORT_COLUMNS.get(sort), DIRECTIONS[direction]);
+            pages[index] = sql;
+        }
+        return sql;
+    }
+
+    public String keyset(int mask, String sortBy, String sortDirection, boolean afterCursor) {
+        int column = Math.max(KEYSET_COLUMNS.indexOf(sortBy), 0);
+        int direction = direction(sortDirection);
+        int index = ((mask * KEYSET_COLUMNS.size() + column) * DIRECTIONS.length + direction) * 2 + (afterCursor ? 1 : 0);
+        String sql = keysets[index];
+        if (sql == null) {
+            String keysetColumn = KEYSET_COLUMNS.get(column);
+            sql = SELECT_CARS + where(mask)
+                    + (afterCursor ? seek(keysetColumn, DIRECTIONS[direction]) : "")
+                    + orderBy(keysetColumn, DIRECTIONS[direction]);
+            keysets[index] = sql;
+        }
+        return sql;
+    }
+
+    // bulk status changes walk the matching cars by id, so a car whose status changes mid-run is neither skipped nor seen twice
+    public String statusRows(int mask) {
+        String sql = statusRows[mask];
+        if (sql == null) {
+            sql = CarProjections.SELECT_STATUS_ROWS + where(mask) + " AND c.id > :lastId ORDER BY c.id ASC";
+            statusRows[mask] = sql;
+        }
+        return sql;
+    }
+
+    // a sparse read keeps the cached where/order part and swaps the entity select for a projection
+    public String page(int mask, String sortBy, String sortDirection, CarFields fields) {
+        return project(page(mask, sortBy, sortDirection), fields);
+    }
+
+    public String keyset(int mask, String sortBy, String sortDirection, boolean afterCursor, CarFields fields) {
+        return project(keyset(mask, sortBy, sortDirection, afterCursor), fields);
+    }
+
+    public static void bind(TypedQuery<?> query, int mask, List<CarMake> carMakes, CarFilterParams carFilterParams) {
+        if ((mask & MAKE) != 0) {
+            query.setParameter("carMakes", carMakes);
+        }
+        if ((mask & MODEL) != 0) {
+            query.setParameter("model", carFilterParams.getModel());
+        }
+        if ((mask & YEAR) != 0) {
+            query.setParameter("year", carFilterParams.getYear());
+        }
+        if ((mask & STATUS) != 0) {
+            query.setParameter("statuses", carFilterParams.getStatuses());
+        }
+        if ((mask & MIN_PRICE) != 0) {
+            query.setParameter("minPrice", carFilterParams.getMinPrice());
+        }
+        if ((mask & MAX_PRICE) != 0) {
+            query.setParameter("maxPrice", carFilterParams.getMaxPrice());
+        }
+        if ((mask & MIN_YEAR) != 0) {
+            query.setParameter("minYear", carFilterParams.getMinYear());
+        }
+        if ((mask & MAX_YEAR) != 0) {
+            query.setParameter("maxYear", carFilterParams.getMaxYear());
+        }
+        if ((mask & ELECTRIC) != 0) {
+            query.setParameter("isElectric", carFilterParams.getIsElectric());
+        }
+        if ((mask & MAX_OWNERS) != 0) {
+            query.setParameter("maxPreviousOwners", carFilterParams.getMaxPreviousOwners());
+        }
+    }
+
+    private static String project(String sql, CarFields fields) {
+        return fields.isAll() ? sql : CarProjections.select(fields) + sql.substring(SELECT_CARS.length());
+    }
+
+    private static int direction(String sortDirection) {
+        return "DESC".equalsIgnoreCase(sortDirection) ? 1 : 0;
+    }
+
+    private static String where(int mask) {
+        StringBuilder sql = new StringBuilder(" WHERE 1=1");
+        if ((mask & MAKE) != 0) {
+            sql.append(" AND c.carMake IN :carMakes");
+        }
+        if ((mask & MODEL) != 0) {
+            // wrapping in the query keeps the bound value the raw request string
+            sql.append(" AND c.model LIKE CONCAT('%', :model, '%')");
+        }
+        if ((mask & YEAR) != 0) {
+            sql.append(" AND c.year = :year");
+        }
+        if ((mask & STATUS) != 0) {
+            sql.append(" AND c.status IN :statuses");
+        }
+        if ((mask & MIN_PRICE) != 0) {
+            sql.append(" AND c.price >= :minPrice");
+        }
+        if ((mask & MAX_PRICE) != 0) {
+            sql.append(" AND c.price <= :maxPrice");
+        }
+        if ((mask & MIN_YEAR) != 0) {
+            sql.append(" AND c.year >= :minYear");
+        }
+        if ((mask & MAX_YEAR) != 0) {
+            sql.append(" AND c.year <= :maxYear");
+        }
+        if ((mask & ELECTRIC) != 0) {
+            sql.append(" AND c.isElectric = :isElectric");
+        }
+        if ((mask & MAX_OWNERS) != 0) {
+            sql.append(" AND c.previousOwner <= :maxPreviousOwners");
+        }
+        return sql.toString();
+    }
+
+    private static String seek(String sortBy, String direction) {
+        String comparison = direction.equals("ASC") ? " > " : " < ";
+        if (sortBy.equals("id")) {
+            return " AND c.id" + comparison + ":lastId";
+        }
+        return " AND (c." + sortBy + comparison + ":lastValue OR (c." + sortBy + " = :lastValue AND c.id" + comparison + ":lastId))";
+    }
+
+    private static String orderBy(String sortBy, String direction) {
+        String path = sortBy.equals("make") ? "c.carMake.name" : "c." + sortBy;
+        // id breaks ties so offset pages never overlap
+        return sortBy.equals("id") ? " ORDER BY c.id " + direction : " ORDER BY " + path + " " + direction + ", c.id " + direction;
+    }
+}
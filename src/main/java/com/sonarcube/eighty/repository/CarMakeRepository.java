@@ -1,12 +1,27 @@
 package com.sonarcube.eighty.repository;
 
 import com.sonarcube.eighty.model.CarMake;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CarMakeRepository extends JpaRepository<CarMake, Long> {
+    // makes are cached by Hibernate alone: the query cache keeps the id for a name, the carMake region the row.
+    // Both hand out a fresh managed instance per session and are dropped when a make is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CarMake> findByName(String name);
+
+    List<CarMake> findByNameIn(Collection<String> names);
+
+    // served from the second-level query cache until a car make is written
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CarMake> findAll();
 }
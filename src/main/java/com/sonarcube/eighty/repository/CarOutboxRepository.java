@@ -0,0 +1,25 @@
+package com.sonarcube.eighty.repository;
+
+import com.sonarcube.eighty.model.CarOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CarOutboxRepository extends JpaRepository<CarOutboxEvent, Long> {
+
+    // the highest id among the oldest batchSize events, null when the outbox is empty
+    @Query(value = "SELECT MAX(id) FROM (SELECT id FROM car_outbox ORDER BY id LIMIT :batchSize) batch", nativeQuery = true)
+    Long findBatchEnd(@Param("batchSize") int batchSize);
+
+    // copies the batch into the change log numbered from firstSequence, in one statement
+    @Modifying
+    @Query(value = "INSERT INTO car_change (sequence, entity, entity_id, type, created_at)" +
+            " SELECT :firstSequence + ROW_NUMBER() OVER (ORDER BY id) - 1, entity, entity_id, type, created_at" +
+            " FROM car_outbox WHERE id <= :batchEnd", nativeQuery = true)
+    int relayUpTo(@Param("firstSequence") long firstSequence, @Param("batchEnd") long batchEnd);
+
+    @Modifying
+    @Query(value = "DELETE FROM car_outbox WHERE id <= :batchEnd", nativeQuery = true)
+    int deleteUpTo(@Param("batchEnd") long batchEnd);
+}
@@ -0,0 +1,93 @@
+package com.sonarcube.eighty.repository;
+
+import com.sonarcube.eighty.dto.CarFields;
+import com.sonarcube.eighty.dto.Dimensions;
+import com.sonarcube.eighty.dto.Engine;
+import com.sonarcube.eighty.dto.Warranty;
+import com.sonarcube.eighty.model.Car;
+import com.sonarcube.eighty.model.CarMake;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// sparse reads select every plain column but only the JSON columns a client asked for, so the others are neither
+// read nor run through their converters; the rows come back as detached, partially filled cars
+final class CarProjections {
+    private static final String SCALAR_COLUMNS = "SELECT c.id, c.model, c.year, c.price, c.isElectric, c.previousOwner, c.createdAt, c.updatedAt, c.status," +
+            " m.id, m.name, c.version, m.version";
+    private static final int SCALAR_COUNT = 13;
+    private static final String FROM_CARS = " FROM Car c JOIN c.carMake m";
+    private static final String[] SELECTS = new String[1 << CarFields.JSON_COLUMNS.size()];
+    // what a bulk status change needs per car: the id to update and the stats group it leaves
+    static final String SELECT_STATUS_ROWS = "SELECT c.id, c.year, c.price, c.isElectric, c.status, m.id, m.name" + FROM_CARS;
+
+    static {
+        for (int jsonMask = 0; jsonMask < SELECTS.length; jsonMask++) {
+            StringBuilder select = new StringBuilder(SCALAR_COLUMNS);
+            for (int i = 0; i < CarFields.JSON_COLUMNS.size(); i++) {
+                if ((jsonMask & (1 << i)) != 0) {
+                    select.append(", c.").append(CarFields.JSON_COLUMNS.get(i));
+                }
+            }
+            SELECTS[jsonMask] = select.append(FROM_CARS).toString();
+        }
+    }
+
+    private CarProjections() {
+    }
+
+    static String select(CarFields fields) {
+        return SELECTS[fields.getJsonMask()];
+    }
+
+    static Car toStatusRow(Object[] row) {
+        return Car.builder()
+                .id((Long) row[0])
+                .year((Integer) row[1])
+                .price((Double) row[2])
+                .isElectric((Boolean) row[3])
+                .status((String) row[4])
+                .carMake(CarMake.builder().id((Long) row[5]).name((String) row[6]).build())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    static Car toCar(Object[] row, CarFields fields) {
+        CarMake carMake = CarMake.builder()
+                .id((Long) row[9])
+                .name((String) row[10])
+                .version((Long) row[12])
+                .build();
+        Car car = Car.builder()
+                .id((Long) row[0])
+                .model((String) row[1])
+                .year((Integer) row[2])
+                .price((Double) row[3])
+                .isElectric((Boolean) row[4])
+                .previousOwner((Integer) row[5])
+                .createdAt((Long) row[6])
+                .updatedAt((Long) row[7])
+                .status((String) row[8])
+                .version((Long) row[11])
+                .carMake(carMake)
+                .build();
+        // JSON columns follow in CarFields.JSON_COLUMNS order, only for the bits that are set
+        int column = SCALAR_COUNT;
+        if (fields.includesJsonColumn(0)) {
+            car.setFeatures((List<String>) row[column++]);
+        }
+        if (fields.includesJsonColumn(1)) {
+            car.setEngine((Engine) row[column++]);
+        }
+        if (fields.includesJsonColumn(2)) {
+            car.setWarranty((Warranty) row[column++]);
+        }
+        if (fields.includesJsonColumn(3)) {
+            car.setMaintenanceDates((List<LocalDate>) row[column++]);
+        }
+        if (fields.includesJsonColumn(4)) {
+            car.setDimensions((Dimensions) row[column]);
+        }
+        return car;
+    }
+}
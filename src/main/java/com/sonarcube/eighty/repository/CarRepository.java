@@ -1,8 +1,66 @@
 package com.sonarcube.eighty.repository;
 
 import com.sonarcube.eighty.model.Car;
+import jakarta.persistence.QueryHint;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.sonarcube.eighty.config.CacheConfig.CAR_FILTER_COUNT;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 
 public interface CarRepository extends JpaRepository<Car, Long>, CarCustomRepository {
+
+    @Override
+    @EntityGraph(attributePaths = "carMake")
+    List<Car> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "carMake")
+    Optional<Car> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "carMake")
+    List<Car> findAllById(Iterable<Long> ids);
+
+    @Query("SELECT c FROM Car c JOIN FETCH c.carMake ORDER BY c.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Car> streamAll();
+
+    @Override
+    @CacheEvict(cacheNames = CAR_FILTER_COUNT, allEntries = true)
+    <S extends Car> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CAR_FILTER_COUNT, allEntries = true)
+    <S extends Car> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CAR_FILTER_COUNT, allEntries = true)
+    void deleteById(Long id);
+
+    // one statement per chunk of a bulk status change, nothing is loaded into the persistence context
+    @Modifying
+    @CacheEvict(cacheNames = CAR_FILTER_COUNT, allEntries = true)
+    // a JPQL update skips the @Version increment, so it is done by hand to keep the cars' ETags moving
+    @Query("UPDATE Car c SET c.status = :status, c.updatedAt = :updatedAt, c.version = c.version + 1 WHERE c.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") String status, @Param("updatedAt") long updatedAt);
+
+    @Override
+    @CacheEvict(cacheNames = CAR_FILTER_COUNT, allEntries = true)
+    void deleteAll();
 }
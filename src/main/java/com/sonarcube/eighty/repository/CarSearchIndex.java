@@ -0,0 +1,236 @@
+package com.sonarcube.eighty.repository;
+
+import com.sonarcube.eighty.model.Car;
+import com.sonarcube.eighty.util.AfterCommit;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// in-process inverted index over model, make name, features and engine type; the database stays the source of truth,
+// search only returns ranked ids and the caller hydrates them
+@Repository
+@RequiredArgsConstructor
+public class CarSearchIndex {
+    private static final int MODEL_WEIGHT = 3;
+    private static final int MAKE_WEIGHT = 2;
+    private static final int FEATURE_WEIGHT = 1;
+    private static final int ENGINE_WEIGHT = 1;
+
+    private final CarRepository carRepository;
+    private final EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings current = new Postings();
+    // updates applied while a rebuild is streaming, replayed onto the new postings before they are swapped in
+    private List<Consumer<Postings>> pending;
+
+    // local writes reach the index after they commit; the periodic rebuild picks up writes made by other
+    // instances. Read-write so it streams from the primary rather than a lagging replica
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${cars.search.rebuild-interval-ms:300000}", fixedDelayString = "${cars.search.rebuild-interval-ms:300000}")
+    @Transactional
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                return;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Postings rebuilt = new Postings();
+        try {
+            // built off the lock so searches keep answering from the old postings meanwhile
+            try (Stream<Car> cars = carRepository.streamAll()) {
+                cars.forEach(car -> {
+                    rebuilt.put(Document.of(car));
+                    entityManager.detach(car);
+                });
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending.forEach(update -> update.accept(rebuilt));
+                current = rebuilt;
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void index(Car car) {
+        Document document = Document.of(car);
+        AfterCommit.run(() -> apply(postings -> postings.put(document)));
+    }
+
+    public void delete(Long carId) {
+        AfterCommit.run(() -> apply(postings -> postings.remove(carId)));
+    }
+
+    // a renamed make changes the text of every car that uses it
+    public void renameMake(Long makeId, String name) {
+        AfterCommit.run(() -> apply(postings -> postings.renameMake(makeId, name)));
+    }
+
+    // ids of cars matching every query token, best match first; exact tokens outrank prefixes
+    public List<Long> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query).stream().distinct().toList();
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : queryTokens) {
+                Map<Long, Integer> tokenScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Integer>> posting : current.postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                    int boost = posting.getKey().equals(token) ? 2 : 1;
+                    posting.getValue().forEach((carId, weight) -> tokenScores.merge(carId, weight * boost, Math::max));
+                }
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((carId, score) -> score + tokenScores.get(carId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Postings> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(current);
+            if (pending != null) {
+                pending.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Postings {
+        // sorted so a query token can also match every indexed token it prefixes
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<Long, Set<Long>> carsByMake = new HashMap<>();
+
+        private void put(Document document) {
+            remove(document.carId);
+            documents.put(document.carId, document);
+            carsByMake.computeIfAbsent(document.makeId, makeId -> new HashSet<>()).add(document.carId);
+            document.terms().forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.carId, weight));
+        }
+
+        private Document remove(Long carId) {
+            Document document = documents.remove(carId);
+            if (document == null) {
+                return null;
+            }
+            Set<Long> makeCars = carsByMake.get(document.makeId);
+            if (makeCars != null && makeCars.remove(carId) && makeCars.isEmpty()) {
+                carsByMake.remove(document.makeId);
+            }
+            for (String term : document.terms().keySet()) {
+                Map<Long, Integer> cars = postings.get(term);
+                if (cars != null && cars.remove(carId) != null && cars.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            return document;
+        }
+
+        private void renameMake(Long makeId, String name) {
+            for (Long carId : List.copyOf(carsByMake.getOrDefault(makeId, Set.of()))) {
+                put(documents.get(carId).withMake(name));
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Document {
+        private final Long carId;
+        private final Long makeId;
+        private final String make;
+        private final String model;
+        private final String engineType;
+        private final List<String> features;
+
+        private Document(Long carId, Long makeId, String make, String model, String engineType, List<String> features) {
+            this.carId = carId;
+            this.makeId = makeId;
+            this.make = make;
+            this.model = model;
+            this.engineType = engineType;
+            this.features = features;
+        }
+
+        private static Document of(Car car) {
+            return new Document(
+                    car.getId(),
+                    car.getCarMake().getId(),
+                    car.getCarMake().getName(),
+                    car.getModel(),
+                    car.getEngine() != null ? car.getEngine().getType() : null,
+                    car.getFeatures() != null ? List.copyOf(car.getFeatures()) : List.of());
+        }
+
+        private Document withMake(String name) {
+            return new Document(carId, makeId, name, model, engineType, features);
+        }
+
+        // a token found in several fields keeps its strongest weight
+        private Map<String, Integer> terms() {
+            Map<String, Integer> terms = new HashMap<>();
+            tokenize(model).forEach(token -> terms.merge(token, MODEL_WEIGHT, Math::max));
+            tokenize(make).forEach(token -> terms.merge(token, MAKE_WEIGHT, Math::max));
+            features.forEach(feature -> tokenize(feature).forEach(token -> terms.merge(token, FEATURE_WEIGHT, Math::max)));
+            tokenize(engineType).forEach(token -> terms.merge(token, ENGINE_WEIGHT, Math::max));
+            return terms;
+        }
+    }
+}
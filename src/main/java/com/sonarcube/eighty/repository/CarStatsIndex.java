@@ -0,0 +1,237 @@
+package com.sonarcube.eighty.repository;
+
+import com.sonarcube.eighty.dto.CarStatsDimension;
+import com.sonarcube.eighty.dto.CarStatsGroup;
+import com.sonarcube.eighty.model.Car;
+import com.sonarcube.eighty.util.AfterCommit;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// inventory totals per make, year, status and electric kept in memory, so /car/stats never scans the car table.
+// Writes adjust the totals once their transaction commits, so a rollback never shows up here; reconcile() recomputes
+// them with one GROUP BY on a schedule and replaces whatever drifted (writes from other instances, rows changed
+// outside this service).
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class CarStatsIndex {
+    static final String GROUP_BY_CELL = "SELECT m.id, m.name, c.year, c.status, c.isElectric, COUNT(c), SUM(c.price)" +
+            " FROM Car c JOIN c.carMake m GROUP BY m.id, m.name, c.year, c.status, c.isElectric";
+    private static final Comparator<CarStatsGroup> GROUP_ORDER = Comparator
+            .comparing(CarStatsGroup::getMake, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(CarStatsGroup::getYear, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .thenComparing(CarStatsGroup::getStatus, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(CarStatsGroup::getElectric, Comparator.nullsFirst(Comparator.<Boolean>naturalOrder()));
+
+    private final EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // the finest grouping; every other grouping is rolled up from these few hundred cells
+    private final Map<Cell, Totals> cells = new HashMap<>();
+    private final Map<Long, String> makeNames = new HashMap<>();
+    // updates applied while reconcile() is querying, replayed onto its result before it is swapped in
+    private List<Runnable> pending;
+
+    // on the primary: a lagging replica would take back writes the totals already counted.
+    // Writes that commit while the GROUP BY runs are kept aside and replayed onto its result, so none is lost; one
+    // committing in the instant between opening that window and the query starting can be counted twice until the
+    // next run.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${cars.stats.reconcile-interval-ms:300000}", fixedDelayString = "${cars.stats.reconcile-interval-ms:300000}")
+    @Transactional
+    public void reconcile() {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                return;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Cell, Totals> reconciled = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        int drifted = 0;
+        boolean queried = false;
+        try {
+            for (Object[] row : entityManager.createQuery(GROUP_BY_CELL, Object[].class).getResultList()) {
+                Long makeId = (Long) row[0];
+                names.put(makeId, (String) row[1]);
+                Totals totals = new Totals();
+                totals.count = (Long) row[5];
+                totals.priceSum = row[6] != null ? (Double) row[6] : 0;
+                reconciled.put(new Cell(makeId, (Integer) row[2], (String) row[3], (Boolean) row[4]), totals);
+            }
+            queried = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (queried) {
+                    Map<Cell, Totals> previous = new HashMap<>(cells);
+                    cells.clear();
+                    cells.putAll(reconciled);
+                    makeNames.clear();
+                    makeNames.putAll(names);
+                    pending.forEach(Runnable::run);
+                    drifted = countDrifted(previous);
+                }
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (drifted > 0) {
+            log.info("Car stats reconciled, {} groups had drifted", drifted);
+        }
+    }
+
+    public static Fact fact(Car car) {
+        return new Fact(new Cell(car.getCarMake().getId(), car.getYear(), car.getStatus(), car.isElectric()),
+                car.getCarMake().getName(), car.getPrice());
+    }
+
+    public void add(Car car) {
+        Fact fact = fact(car);
+        AfterCommit.run(() -> update(() -> apply(fact, 1)));
+    }
+
+    public void addAll(Collection<Car> cars) {
+        List<Fact> facts = cars.stream().map(CarStatsIndex::fact).toList();
+        AfterCommit.run(() -> update(() -> facts.forEach(fact -> apply(fact, 1))));
+    }
+
+    // before is taken from the car as it was loaded, since updates change the entity in place
+    public void replace(Fact before, Car after) {
+        replaceAll(List.of(before), List.of(after));
+    }
+
+    // befores and afters pair up by position
+    public void replaceAll(List<Fact> befores, List<Car> afters) {
+        List<Fact> facts = afters.stream().map(CarStatsIndex::fact).toList();
+        AfterCommit.run(() -> update(() -> {
+            befores.forEach(before -> apply(before, -1));
+            facts.forEach(fact -> apply(fact, 1));
+        }));
+    }
+
+    public void remove(Car car) {
+        Fact fact = fact(car);
+        AfterCommit.run(() -> update(() -> apply(fact, -1)));
+    }
+
+    public void renameMake(Long makeId, String name) {
+        AfterCommit.run(() -> update(() -> makeNames.computeIfPresent(makeId, (id, old) -> name)));
+    }
+
+    public List<CarStatsGroup> groupBy(Set<CarStatsDimension> dimensions) {
+        boolean make = dimensions.contains(CarStatsDimension.MAKE);
+        boolean year = dimensions.contains(CarStatsDimension.YEAR);
+        boolean status = dimensions.contains(CarStatsDimension.STATUS);
+        boolean electric = dimensions.contains(CarStatsDimension.ELECTRIC);
+        Map<Cell, Totals> groups = new HashMap<>();
+        Map<Long, String> names;
+        lock.readLock().lock();
+        try {
+            cells.forEach((cell, totals) -> {
+                Cell group = new Cell(make ? cell.makeId : null, year ? cell.year : null,
+                        status ? cell.status : null, electric ? cell.electric : null);
+                groups.computeIfAbsent(group, g -> new Totals()).add(totals, cell.electric);
+            });
+            names = make ? Map.copyOf(makeNames) : Map.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<CarStatsGroup> result = new ArrayList<>(groups.size());
+        groups.forEach((group, totals) -> result.add(CarStatsGroup.builder()
+                .make(group.makeId != null ? names.get(group.makeId) : null)
+                .year(group.year)
+                .status(group.status)
+                .electric(group.electric)
+                .count(totals.count)
+                .averagePrice(totals.priceSum / totals.count)
+                .electricShare((double) totals.electricCount / totals.count)
+                .build()));
+        result.sort(GROUP_ORDER);
+        return result;
+    }
+
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Fact fact, int sign) {
+        if (sign > 0) {
+            makeNames.put(fact.cell.makeId, fact.makeName);
+        }
+        Totals totals = cells.computeIfAbsent(fact.cell, cell -> new Totals());
+        totals.count += sign;
+        totals.priceSum += sign * fact.price;
+        // a car the totals never saw (added before the last reconcile finished) must not leave a negative group
+        if (totals.count <= 0) {
+            cells.remove(fact.cell);
+        }
+    }
+
+    private int countDrifted(Map<Cell, Totals> previous) {
+        int drifted = 0;
+        for (Map.Entry<Cell, Totals> entry : cells.entrySet()) {
+            Totals before = previous.get(entry.getKey());
+            if (before == null || before.count != entry.getValue().count
+                    || Math.abs(before.priceSum - entry.getValue().priceSum) > 0.01) {
+                drifted++;
+            }
+        }
+        for (Cell cell : previous.keySet()) {
+            if (!cells.containsKey(cell)) {
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    @Value
+    public static class Fact {
+        Cell cell;
+        String makeName;
+        double price;
+    }
+
+    @Value
+    public static class Cell {
+        Long makeId;
+        Integer year;
+        String status;
+        Boolean electric;
+    }
+
+    private static final class Totals {
+        private long count;
+        private double priceSum;
+        private long electricCount;
+
+        private void add(Totals cell, boolean electric) {
+            count += cell.count;
+            priceSum += cell.priceSum;
+            electricCount += electric ? cell.count : 0;
+        }
+    }
+}
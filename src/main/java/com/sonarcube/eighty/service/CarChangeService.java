@@ -0,0 +1,10 @@
+package com.sonarcube.eighty.service;
+
+import com.sonarcube.eighty.dto.CarChangesResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+public interface CarChangeService {
+    CompletableFuture<CarChangesResponse> getChanges(long since, int limit, Duration wait);
+}
@@ -3,9 +3,12 @@ package com.sonarcube.eighty.service;
 import com.sonarcube.eighty.dto.CarFeatureResponse;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 public interface CarFeatureService {
     List<CarFeatureResponse> getAllCarFeatures();
+    Optional<List<CarFeatureResponse>> getAllCarFeatures(Predicate<String> notModified);
     CarFeatureResponse getCarFeatureById(Long id);
     CarFeatureResponse createCarFeature(String feature);
     CarFeatureResponse updateCarFeature(Long id, String feature);
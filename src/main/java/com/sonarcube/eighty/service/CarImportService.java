@@ -0,0 +1,10 @@
+package com.sonarcube.eighty.service;
+
+import com.sonarcube.eighty.dto.CarImportJobResponse;
+
+import java.io.InputStream;
+
+public interface CarImportService {
+    CarImportJobResponse startImport(InputStream cars);
+    CarImportJobResponse getImportJob(String id);
+}
@@ -4,9 +4,12 @@ import com.sonarcube.eighty.dto.CarMakeRequest;
 import com.sonarcube.eighty.dto.CarMakeResponse;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 public interface CarMakeService {
     List<CarMakeResponse> getAllCarMakes();
+    Optional<List<CarMakeResponse>> getAllCarMakes(Predicate<String> notModified);
     CarMakeResponse getCarMakes(Long id);
     CarMakeResponse saveCarMake(CarMakeRequest request);
     CarMakeResponse updateCarMake(Long id, CarMakeRequest request);
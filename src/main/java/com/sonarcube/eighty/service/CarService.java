@@ -1,19 +1,37 @@
 package com.sonarcube.eighty.service;
 
+import com.sonarcube.eighty.dto.CarBatchResponse;
+import com.sonarcube.eighty.dto.CarBulkStatusRequest;
+import com.sonarcube.eighty.dto.CarBulkStatusResponse;
+import com.sonarcube.eighty.dto.CarCursorPageResponse;
 import com.sonarcube.eighty.dto.CarDtoRequest;
 import com.sonarcube.eighty.dto.CarDtoResponse;
+import com.sonarcube.eighty.dto.CarFields;
 import com.sonarcube.eighty.dto.CarFilterParams;
+import com.sonarcube.eighty.dto.CarSliceResponse;
+import com.sonarcube.eighty.dto.CarStatsResponse;
 import com.sonarcube.eighty.dto.CarStatusRequest;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface CarService {
-    List<CarDtoResponse> getAllCars();
+    List<CarDtoResponse> getAllCars(CarFields fields);
+    void streamAllCars(Consumer<CarDtoResponse> consumer);
     CarDtoResponse getCarById(Long id);
+    Optional<CarDtoResponse> getCarById(Long id, CarFields fields, Predicate<String> notModified);
     CarDtoResponse saveCar(CarDtoRequest carDtoRequest);
+    CarBatchResponse saveCars(List<CarDtoRequest> carDtoRequests);
     CarDtoResponse updateCar(Long id, CarDtoRequest carDtoRequest);
     CarDtoResponse updateCarStatus(Long id, CarStatusRequest carStatusRequest);
     String deleteCar(Long id);
+    CarStatsResponse getCarStats(String groupBy);
+    CarBulkStatusResponse updateCarStatuses(CarFilterParams carFilterParams, CarBulkStatusRequest carBulkStatusRequest);
+    List<CarDtoResponse> searchCars(String query, int limit);
     Page<CarDtoResponse> findCarByCustomQueryV2(CarFilterParams carFilterParams);
+    CarSliceResponse findCarSliceByCustomQuery(CarFilterParams carFilterParams);
+    CarCursorPageResponse findCarByCursor(CarFilterParams carFilterParams);
 }
@@ -7,6 +7,7 @@ import com.sonarcube.eighty.model.CarBodyStyle;
 import com.sonarcube.eighty.repository.CarBodyStyleRepository;
 import com.sonarcube.eighty.service.CarBodyStyleService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -25,6 +26,7 @@ public class CarBodyStyleServiceImpl implements CarBodyStyleService {
     private static final String CAR_BODY_STYLE = "Car Body Style";
 
     @Override
+    @Transactional(readOnly = true)
     public List<CarBodyResponse> getAllCarBodyStyles() {
         List<CarBodyStyle> all = carBodyStyleRepository.findAll();
         List<CarBodyResponse> carBodyResponses = new ArrayList<>();
@@ -36,6 +38,7 @@ public class CarBodyStyleServiceImpl implements CarBodyStyleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CarBodyResponse getCarBodyStyleById(Long id) {
         CarBodyStyle carBodyStyle = carBodyStyleRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(CAR_BODY_STYLE, "id", id));
         return convertToCarBodyResponse(carBodyStyle);
@@ -58,6 +61,7 @@ public class CarBodyStyleServiceImpl implements CarBodyStyleService {
     }
 
     @Override
+    @Transactional
     public CarBodyResponse updateCarBodyStyle(Long id, String name) {
         CarBodyStyle carBodyStyle = carBodyStyleRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR_BODY_STYLE, "id", id)
@@ -73,6 +77,7 @@ public class CarBodyStyleServiceImpl implements CarBodyStyleService {
     }
 
     @Override
+    @Transactional
     public CarBodyResponse deleteCarBodyStyle(Long id) {
         CarBodyStyle carBodyStyle = carBodyStyleRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR_BODY_STYLE, "id", id)
@@ -0,0 +1,173 @@
+package com.sonarcube.eighty.service.implementation;
+
+import com.sonarcube.eighty.dto.CarChangeResponse;
+import com.sonarcube.eighty.dto.CarChangesResponse;
+import com.sonarcube.eighty.model.CarChange;
+import com.sonarcube.eighty.repository.CarChangeRepository;
+import com.sonarcube.eighty.repository.CarOutboxRepository;
+import com.sonarcube.eighty.service.CarChangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+// car and make writes leave an event in car_outbox inside their own transaction. relay() drains the outbox into
+// car_change in batches, numbering the changes as it goes, and wakes the long polls waiting for them.
+@Slf4j
+@Service
+public class CarChangeServiceImpl implements CarChangeService {
+    static final int MAX_LIMIT = 1_000;
+
+    private final CarChangeRepository carChangeRepository;
+    private final CarOutboxRepository carOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration maxWait;
+    private final Duration retention;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public CarChangeServiceImpl(CarChangeRepository carChangeRepository,
+                                CarOutboxRepository carOutboxRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${cars.changes.relay-batch-size:500}") int batchSize,
+                                @Value("${cars.changes.max-wait:25s}") Duration maxWait,
+                                @Value("${cars.changes.retention:7d}") Duration retention) {
+        this.carChangeRepository = carChangeRepository;
+        this.carOutboxRepository = carOutboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxWait = maxWait;
+        this.retention = retention;
+    }
+
+    @Override
+    public CompletableFuture<CarChangesResponse> getChanges(long since, int limit, Duration wait) {
+        int boundedLimit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        Duration boundedWait = wait.compareTo(maxWait) > 0 ? maxWait : wait;
+        if (boundedWait.isNegative() || boundedWait.isZero()) {
+            return CompletableFuture.completedFuture(read(since, boundedLimit));
+        }
+        // registered before reading, so a relay finishing in between still wakes this poll
+        Waiter waiter = new Waiter(since, boundedLimit, new CompletableFuture<>());
+        waiters.add(waiter);
+        waiter.getResponse().whenComplete((response, e) -> waiters.remove(waiter));
+        CarChangesResponse response = read(since, boundedLimit);
+        if (!response.getChanges().isEmpty()) {
+            waiter.getResponse().complete(response);
+        }
+        return waiter.getResponse().completeOnTimeout(response, boundedWait.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // relays on every instance take turns on the car_change lock row; one that finds nothing to relay still checks
+    // the log for its own waiters, since the changes they wait for may have been relayed by another instance
+    @Scheduled(fixedDelayString = "${cars.changes.relay-interval-ms:200}")
+    public void relay() {
+        long lastSequence = 0;
+        RelayedBatch batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            if (batch != null && batch.getCount() > 0) {
+                lastSequence = batch.getLastSequence();
+            }
+        } while (batch != null && batch.getCount() == batchSize);
+        if (lastSequence == 0 && !waiters.isEmpty()) {
+            Long last = transactionTemplate.execute(status -> carChangeRepository.findLastSequence());
+            lastSequence = last != null ? last : 0;
+        }
+        if (lastSequence > 0) {
+            wake(lastSequence);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cars.changes.purge-interval-ms:3600000}")
+    @Transactional
+    public void purge() {
+        int purged = carChangeRepository.deleteCreatedBefore(ZonedDateTime.now().minus(retention).toEpochSecond());
+        if (purged > 0) {
+            log.info("Purged {} car changes older than {}", purged, retention);
+        }
+    }
+
+    RelayedBatch relayBatch() {
+        // an empty outbox is the usual case, checked without taking the lock
+        if (carOutboxRepository.findBatchEnd(batchSize) == null) {
+            return new RelayedBatch(0, 0);
+        }
+        long nextSequence = carChangeRepository.lockNextSequence();
+        Long batchEnd = carOutboxRepository.findBatchEnd(batchSize);
+        if (batchEnd == null) {
+            return new RelayedBatch(0, 0);
+        }
+        // INSERT ... SELECT locks the range it copied, so the DELETE removes exactly those events
+        int relayed = carOutboxRepository.relayUpTo(nextSequence, batchEnd);
+        carOutboxRepository.deleteUpTo(batchEnd);
+        carChangeRepository.updateNextSequence(nextSequence + relayed);
+        return new RelayedBatch(relayed, nextSequence + relayed - 1);
+    }
+
+    private void wake(long lastSequence) {
+        // polls resuming from the same place share one read
+        Map<List<Long>, CarChangesResponse> reads = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            if (waiter.getSince() >= lastSequence || waiter.getResponse().isDone()) {
+                continue;
+            }
+            CarChangesResponse response = reads.computeIfAbsent(List.of(waiter.getSince(), (long) waiter.getLimit()),
+                    key -> read(waiter.getSince(), waiter.getLimit()));
+            if (!response.getChanges().isEmpty()) {
+                waiter.getResponse().complete(response);
+            }
+        }
+    }
+
+    // reads of the log go through a read-write transaction so they run on the primary: the repository's own
+    // read-only default would route them to a replica that may not have the changes the relay just announced yet
+    private CarChangesResponse read(long since, int limit) {
+        // one extra row tells whether the consumer should come straight back
+        List<CarChange> changes = Objects.requireNonNull(transactionTemplate.execute(status ->
+                carChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(since, Limit.of(limit + 1))));
+        boolean hasMore = changes.size() > limit;
+        List<CarChange> page = hasMore ? changes.subList(0, limit) : changes;
+        return CarChangesResponse.builder()
+                .changes(page.stream().map(this::convertToChangeResponse).toList())
+                .nextSince(page.isEmpty() ? since : page.get(page.size() - 1).getSequence())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private CarChangeResponse convertToChangeResponse(CarChange change) {
+        return CarChangeResponse.builder()
+                .sequence(change.getSequence())
+                .entity(change.getEntity())
+                .id(change.getEntityId())
+                .type(change.getType())
+                .changedAt(Instant.ofEpochSecond(change.getCreatedAt()).atZone(ZoneId.of("UTC")))
+                .build();
+    }
+
+    @lombok.Value
+    static class Waiter {
+        long since;
+        int limit;
+        CompletableFuture<CarChangesResponse> response;
+    }
+
+    @lombok.Value
+    static class RelayedBatch {
+        int count;
+        long lastSequence;
+    }
+}
@@ -6,13 +6,17 @@ import com.sonarcube.eighty.exception.ResourceNotFoundException;
 import com.sonarcube.eighty.model.CarFeature;
 import com.sonarcube.eighty.repository.CarFeatureRepository;
 import com.sonarcube.eighty.service.CarFeatureService;
+import com.sonarcube.eighty.util.ETags;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
 public class CarFeatureServiceImpl implements CarFeatureService {
@@ -26,6 +30,7 @@ public class CarFeatureServiceImpl implements CarFeatureService {
     private static final String CAR_FEATURE = "Car Feature";
 
     @Override
+    @Transactional(readOnly = true)
     public List<CarFeatureResponse> getAllCarFeatures() {
         List<CarFeature> carFeatures = carFeatureRepository.findAll();
         List<CarFeatureResponse> carFeatureResponseList = new ArrayList<>();
@@ -37,6 +42,17 @@ public class CarFeatureServiceImpl implements CarFeatureService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<List<CarFeatureResponse>> getAllCarFeatures(Predicate<String> notModified) {
+        List<CarFeatureResponse> carFeatures = getAllCarFeatures();
+        if (notModified.test(ETags.ofContent(carFeatures))) {
+            return Optional.empty();
+        }
+        return Optional.of(carFeatures);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public CarFeatureResponse getCarFeatureById(Long id) {
         CarFeature carFeature = carFeatureRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR_FEATURE, "id", id)
@@ -60,6 +76,7 @@ public class CarFeatureServiceImpl implements CarFeatureService {
     }
 
     @Override
+    @Transactional
     public CarFeatureResponse updateCarFeature(Long id, String feature) {
         CarFeature existingCarFeature = carFeatureRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR_FEATURE, "id", id)
@@ -75,6 +92,7 @@ public class CarFeatureServiceImpl implements CarFeatureService {
     }
 
     @Override
+    @Transactional
     public CarFeatureResponse deleteCarFeature(Long id) {
         CarFeature carFeature = carFeatureRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR_FEATURE, "id", id)
@@ -0,0 +1,86 @@
+package com.sonarcube.eighty.service.implementation;
+
+import com.sonarcube.eighty.dto.CarBatchError;
+import com.sonarcube.eighty.dto.CarImportJobResponse;
+import com.sonarcube.eighty.dto.CarImportStatus;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// progress of one import, written by its worker and read by any request polling it
+@Getter
+class CarImportJob {
+    // a file full of bad rows should not turn the status response into a copy of the file
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final String id;
+    private final AtomicInteger received = new AtomicInteger();
+    private final AtomicInteger saved = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<CarBatchError> errors = new ArrayList<>();
+    private volatile CarImportStatus status = CarImportStatus.QUEUED;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String message;
+
+    CarImportJob(String id) {
+        this.id = id;
+    }
+
+    void start() {
+        startedAt = System.currentTimeMillis();
+        status = CarImportStatus.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = System.currentTimeMillis();
+        status = CarImportStatus.COMPLETED;
+    }
+
+    void fail(String message) {
+        this.message = message;
+        finishedAt = System.currentTimeMillis();
+        status = CarImportStatus.FAILED;
+    }
+
+    void reject(int index, String message) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new CarBatchError(index, message));
+            }
+        }
+    }
+
+    CarImportJobResponse toResponse() {
+        long started = startedAt;
+        long finished = finishedAt;
+        long elapsed = (finished > 0 ? finished : System.currentTimeMillis()) - started;
+        int processed = saved.get() + failed.get();
+        List<CarBatchError> reported;
+        synchronized (errors) {
+            reported = List.copyOf(errors);
+        }
+        return CarImportJobResponse.builder()
+                .id(id)
+                .status(status)
+                .received(received.get())
+                .saved(saved.get())
+                .failed(failed.get())
+                .carsPerSecond(started > 0 && elapsed > 0 ? processed * 1000.0 / elapsed : 0)
+                .startedAt(started > 0 ? toZonedDateTime(started) : null)
+                .finishedAt(finished > 0 ? toZonedDateTime(finished) : null)
+                .message(message)
+                .errors(reported)
+                .build();
+    }
+
+    private static ZonedDateTime toZonedDateTime(long epochMilli) {
+        return Instant.ofEpochMilli(epochMilli).atZone(ZoneId.of("UTC"));
+    }
+}
@@ -0,0 +1,180 @@
+package com.sonarcube.eighty.service.implementation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sonarcube.eighty.dto.CarBatchError;
+import com.sonarcube.eighty.dto.CarBatchResponse;
+import com.sonarcube.eighty.dto.CarDtoRequest;
+import com.sonarcube.eighty.dto.CarImportJobResponse;
+import com.sonarcube.eighty.exception.ResourceNotFoundException;
+import com.sonarcube.eighty.exception.TooManyRequestsException;
+import com.sonarcube.eighty.service.CarImportService;
+import com.sonarcube.eighty.service.CarService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class CarImportServiceImpl implements CarImportService {
+    // carData.txt style names mapped onto CarDtoRequest properties
+    private static final Map<String, String> ALIASES = Map.of(
+            "engineSpecs", "engine",
+            "previousOwners", "previousOwner"
+    );
+
+    private final CarService carService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor carImportExecutor;
+    private final int chunkSize;
+    private final Cache<String, CarImportJob> jobs;
+
+    public CarImportServiceImpl(CarService carService,
+                                ObjectMapper objectMapper,
+                                @Qualifier("carImportExecutor") TaskExecutor carImportExecutor,
+                                @Value("${cars.import.chunk-size:500}") int chunkSize,
+                                @Value("${cars.import.job-retention:24h}") Duration jobRetention) {
+        this.carService = carService;
+        this.objectMapper = objectMapper;
+        this.carImportExecutor = carImportExecutor;
+        this.chunkSize = chunkSize;
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(jobRetention)
+                .build();
+    }
+
+    @Override
+    public CarImportJobResponse startImport(InputStream cars) {
+        // the request body is gone once the response is sent, so the worker reads a spooled copy
+        Path file = spool(cars);
+        CarImportJob job = new CarImportJob(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+        try {
+            carImportExecutor.execute(() -> run(job, file));
+        } catch (TaskRejectedException e) {
+            jobs.invalidate(job.getId());
+            delete(file);
+            throw new TooManyRequestsException("Too many imports are running, retry later");
+        }
+        return job.toResponse();
+    }
+
+    @Override
+    public CarImportJobResponse getImportJob(String id) {
+        CarImportJob job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job", "id", id);
+        }
+        return job.toResponse();
+    }
+
+    void run(CarImportJob job, Path file) {
+        job.start();
+        try (JsonParser parser = objectMapper.getFactory().createParser(file.toFile())) {
+            List<CarDtoRequest> chunk = new ArrayList<>(chunkSize);
+            List<Integer> positions = new ArrayList<>(chunkSize);
+            // accepts a JSON array as well as one car after another (NDJSON or concatenated objects)
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                JsonNode node = parser.readValueAsTree();
+                int index = job.getReceived().getAndIncrement();
+                try {
+                    chunk.add(objectMapper.treeToValue(normalize(node), CarDtoRequest.class));
+                    positions.add(index);
+                } catch (JsonProcessingException e) {
+                    job.reject(index, "car is not valid: " + e.getOriginalMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    saveChunk(job, chunk, positions);
+                }
+                token = parser.nextToken();
+            }
+            saveChunk(job, chunk, positions);
+            job.complete();
+        } catch (JsonProcessingException e) {
+            job.fail("car " + (job.getReceived().get() + 1) + " is not valid JSON");
+        } catch (IOException | RuntimeException e) {
+            log.error("Import job {} failed", job.getId(), e);
+            job.fail("Import stopped: " + e.getMessage());
+        } finally {
+            delete(file);
+        }
+    }
+
+    private void saveChunk(CarImportJob job, List<CarDtoRequest> chunk, List<Integer> positions) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // every chunk commits on its own, so a late failure keeps what was already imported
+        CarBatchResponse response = carService.saveCars(chunk);
+        job.getSaved().addAndGet(response.getSaved());
+        for (CarBatchError error : response.getErrors()) {
+            job.reject(positions.get(error.getIndex()), error.getMessage());
+        }
+        chunk.clear();
+        positions.clear();
+    }
+
+    private JsonNode normalize(JsonNode node) {
+        // carData.txt wraps each car as {"car": {...}}
+        if (node.size() == 1 && node.get("car") != null && node.get("car").isObject()) {
+            node = node.get("car");
+        }
+        if (node instanceof ObjectNode car) {
+            ALIASES.forEach((alias, name) -> {
+                if (car.has(alias) && !car.has(name)) {
+                    car.set(name, car.remove(alias));
+                }
+            });
+        }
+        return node;
+    }
+
+    private static Path spool(InputStream cars) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("car-import-", ".json");
+            Files.copy(cars, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            if (file != null) {
+                delete(file);
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+}
@@ -1,31 +1,48 @@
 package com.sonarcube.eighty.service.implementation;
 
+import com.sonarcube.eighty.dto.CarChangeEntity;
+import com.sonarcube.eighty.dto.CarChangeType;
 import com.sonarcube.eighty.dto.CarMakeRequest;
 import com.sonarcube.eighty.dto.CarMakeResponse;
 import com.sonarcube.eighty.exception.ResourceAlreadyExistsException;
 import com.sonarcube.eighty.exception.ResourceNotFoundException;
 import com.sonarcube.eighty.model.CarMake;
+import com.sonarcube.eighty.model.CarOutboxEvent;
 import com.sonarcube.eighty.repository.CarMakeRepository;
+import com.sonarcube.eighty.repository.CarOutboxRepository;
+import com.sonarcube.eighty.repository.CarSearchIndex;
+import com.sonarcube.eighty.repository.CarStatsIndex;
 import com.sonarcube.eighty.service.CarMakeService;
+import com.sonarcube.eighty.util.ETags;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Predicate;
 
 @Service
 public class CarMakeServiceImpl implements CarMakeService {
 
     private final CarMakeRepository carMakeRepository;
+    private final CarSearchIndex carSearchIndex;
+    private final CarStatsIndex carStatsIndex;
+    private final CarOutboxRepository carOutboxRepository;
 
-    CarMakeServiceImpl(CarMakeRepository carMakeRepository){
+    CarMakeServiceImpl(CarMakeRepository carMakeRepository, CarSearchIndex carSearchIndex, CarStatsIndex carStatsIndex,
+                       CarOutboxRepository carOutboxRepository){
         this.carMakeRepository = carMakeRepository;
+        this.carSearchIndex = carSearchIndex;
+        this.carStatsIndex = carStatsIndex;
+        this.carOutboxRepository = carOutboxRepository;
     }
 
     private static final String CAR_MAKE = "Car Make";
 
     @Override
+    @Transactional(readOnly = true)
     public List<CarMakeResponse> getAllCarMakes() {
         List<CarMake> carMakes = carMakeRepository.findAll();
         List<CarMakeResponse> carMakeResponse = new ArrayList<>();
@@ -37,6 +54,18 @@ public class CarMakeServiceImpl implements CarMakeService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<List<CarMakeResponse>> getAllCarMakes(Predicate<String> notModified) {
+        // the rows come from the query cache; an unchanged list still skips serializing and sending them
+        List<CarMakeResponse> carMakes = getAllCarMakes();
+        if (notModified.test(ETags.ofContent(carMakes))) {
+            return Optional.empty();
+        }
+        return Optional.of(carMakes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public CarMakeResponse getCarMakes(Long id) {
         CarMake carMake = carMakeRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR_MAKE, "id", id)
@@ -45,6 +74,7 @@ public class CarMakeServiceImpl implements CarMakeService {
     }
 
     @Override
+    @Transactional
     public CarMakeResponse saveCarMake(CarMakeRequest request) {
         Optional<CarMake> optionalCarMake = carMakeRepository.findByName(request.getName());
         if (optionalCarMake.isPresent()){
@@ -58,10 +88,13 @@ public class CarMakeServiceImpl implements CarMakeService {
                 .deletedAt(null)
                 .build();
         CarMake saved = carMakeRepository.save(carMake);
+        carOutboxRepository.save(CarOutboxEvent.of(CarChangeEntity.MAKE, saved.getId(), CarChangeType.CREATED));
         return convertCarMakeToCarMakeResponse(saved);
     }
 
     @Override
+    // one transaction per write, so the second-level cache entry and the query cache timestamps change when it commits
+    @Transactional
     public CarMakeResponse updateCarMake(Long id, CarMakeRequest request) {
         CarMake carMakeById = carMakeRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR_MAKE, "id", id)
@@ -77,12 +110,17 @@ public class CarMakeServiceImpl implements CarMakeService {
                 .createdAt(carMakeById.getCreatedAt())
                 .updatedAt(ZonedDateTime.now(ZoneId.of("UTC")).toEpochSecond())
                 .deletedAt(carMakeById.getDeletedAt())
+                .version(carMakeById.getVersion())
                 .build();
         CarMake saved = carMakeRepository.save(carMake);
+        carOutboxRepository.save(CarOutboxEvent.of(CarChangeEntity.MAKE, saved.getId(), CarChangeType.UPDATED));
+        carSearchIndex.renameMake(saved.getId(), saved.getName());
+        carStatsIndex.renameMake(saved.getId(), saved.getName());
         return convertCarMakeToCarMakeResponse(saved);
     }
 
     @Override
+    @Transactional
     public String deleteCarMake(Long id) {
         CarMake existingCarMake = carMakeRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR_MAKE, "id", id)
@@ -94,8 +132,10 @@ public class CarMakeServiceImpl implements CarMakeService {
                 .createdAt(existingCarMake.getCreatedAt())
                 .updatedAt(existingCarMake.getUpdatedAt())
                 .deletedAt(ZonedDateTime.now(ZoneId.of("UTC")).toEpochSecond())
+                .version(existingCarMake.getVersion())
                 .build();
         carMakeRepository.save(carMake);
+        carOutboxRepository.save(CarOutboxEvent.of(CarChangeEntity.MAKE, id, CarChangeType.DELETED));
         return "Car Make successfully deleted!";
     }
 
@@ -1,30 +1,38 @@
 package com.sonarcube.eighty.service.implementation;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sonarcube.eighty.dto.*;
 import com.sonarcube.eighty.exception.InvalidRequestException;
-import com.sonarcube.eighty.exception.ResourceConversionException;
 import com.sonarcube.eighty.exception.ResourceNotFoundException;
 import com.sonarcube.eighty.model.Car;
 import com.sonarcube.eighty.model.CarMake;
+import com.sonarcube.eighty.model.CarOutboxEvent;
 import com.sonarcube.eighty.repository.CarMakeRepository;
+import com.sonarcube.eighty.repository.CarOutboxRepository;
+import com.sonarcube.eighty.repository.CarFilterQueries;
 import com.sonarcube.eighty.repository.CarRepository;
+import com.sonarcube.eighty.repository.CarSearchIndex;
+import com.sonarcube.eighty.repository.CarStatsIndex;
 import com.sonarcube.eighty.service.CarService;
-import jakarta.transaction.Transactional;
-import jakarta.validation.Valid;
+import com.sonarcube.eighty.util.ETags;
+import com.sonarcube.eighty.util.mapper.CarMapper;
+import com.sonarcube.eighty.util.validation.CarRequestValidator;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import lombok.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -32,56 +40,132 @@ public class CarServiceImpl implements CarService {
 
     private final CarRepository carRepository;
     private final CarMakeRepository carMakeRepository;
-    private final ObjectMapper objectMapper;
-    private static final String CAR_DTO = "CarDto";
+    private final EntityManager entityManager;
+    private final CarSearchIndex carSearchIndex;
+    private final CarStatsIndex carStatsIndex;
+    private final CarOutboxRepository carOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CarMapper carMapper;
     private static final String CAR = "Car";
+    private static final int MAX_SEARCH_RESULTS = 100;
+    // matches hibernate.jdbc.batch_size and the car id allocation size
+    static final int BATCH_SIZE = 50;
+    // cars per UPDATE statement and per transaction in a bulk status change
+    static final int STATUS_CHUNK_SIZE = 1_000;
 
     @Override
-    public List<CarDtoResponse> getAllCars() {
+    @Transactional(readOnly = true)
+    public List<CarDtoResponse> getAllCars(CarFields fields) {
         // Car to CarDto conversion
-        List<Car> cars = carRepository.findAll();
+        List<Car> cars = fields.isAll() ? carRepository.findAll() : carRepository.findAllProjected(fields);
         return cars.stream()
-                .map(car -> {
-                    try {
-                        return convertToDtoResponse(car);
-                    } catch (JsonProcessingException e) {
-                        throw new ResourceConversionException(CAR, CAR_DTO);
-                    }
-                })
+                .map(carMapper::toDtoResponse)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCars(Consumer<CarDtoResponse> consumer) {
+        try (Stream<Car> cars = carRepository.streamAll()) {
+            cars.forEach(car -> {
+                consumer.accept(carMapper.toDtoResponse(car));
+                // keep the persistence context flat while walking the cursor
+                entityManager.detach(car);
+            });
+        }
+    }
 
     @Override
+    @Transactional(readOnly = true)
     public CarDtoResponse getCarById(Long id) {
         Car car = carRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR, "id", id)
         );
-        try {
-            return convertToDtoResponse(car);
-        } catch (JsonProcessingException e) {
-            throw new ResourceConversionException(CAR, CAR_DTO);
+        return carMapper.toDtoResponse(car);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CarDtoResponse> getCarById(Long id, CarFields fields, Predicate<String> notModified) {
+        Car car = (fields.isAll() ? carRepository.findById(id) : carRepository.findProjectedById(id, fields)).orElseThrow(
+                () -> new ResourceNotFoundException(CAR, "id", id)
+        );
+        // the response carries the make name, so a renamed make changes the car's ETag too
+        CarMake carMake = car.getCarMake();
+        // each projection is its own representation and gets its own tag
+        String eTag = fields.isAll() ? ETags.of(car.getId(), car.getVersion(), carMake.getId(), carMake.getVersion())
+                : ETags.of(car.getId(), car.getVersion(), carMake.getId(), carMake.getVersion(), fields.key());
+        // an unchanged car is answered from its ETag without building the DTO
+        if (notModified.test(eTag)) {
+            return Optional.empty();
         }
+        return Optional.of(carMapper.toDtoResponse(car));
     }
 
     @Override
-    public CarDtoResponse saveCar(@Valid CarDtoRequest carDtoRequest) {
+    // the outbox event commits or rolls back with the car
+    @Transactional
+    public CarDtoResponse saveCar(CarDtoRequest carDtoRequest) {
         validateRequest(carDtoRequest);
         CarMake carMake = carMakeRepository.findByName(carDtoRequest.getMake()).orElseThrow(
                 () -> new ResourceNotFoundException("Car Make", "make", carDtoRequest.getMake())
         );
-        try {
-            Car car = convertToCar(carDtoRequest, carMake);
-            car.setCreatedAt(ZonedDateTime.now().toEpochSecond());
+        Car car = carMapper.toCar(carDtoRequest, carMake);
+        car.setCreatedAt(ZonedDateTime.now().toEpochSecond());
+        car.setStatus(CarStatus.ACTIVE.getValue());
+        Car saved = carRepository.save(car);
+        carOutboxRepository.save(CarOutboxEvent.of(CarChangeEntity.CAR, saved.getId(), CarChangeType.CREATED));
+        carSearchIndex.index(saved);
+        carStatsIndex.add(saved);
+        return carMapper.toDtoResponse(saved);
+    }
+
+    @Override
+    public CarBatchResponse saveCars(List<CarDtoRequest> carDtoRequests) {
+        Map<String, CarMake> carMakes = findCarMakes(carDtoRequests);
+        long createdAt = ZonedDateTime.now().toEpochSecond();
+        List<Car> cars = new ArrayList<>(carDtoRequests.size());
+        List<CarBatchError> errors = new ArrayList<>();
+        for (int i = 0; i < carDtoRequests.size(); i++) {
+            CarDtoRequest carDtoRequest = carDtoRequests.get(i);
+            // a rejected car is reported with all of its violations, without throwing per car
+            List<String> violations = CarRequestValidator.validate(carDtoRequest);
+            if (!violations.isEmpty()) {
+                errors.add(new CarBatchError(i, CarRequestValidator.message(violations)));
+                continue;
+            }
+            CarMake carMake = carMakes.get(carDtoRequest.getMake());
+            if (carMake == null) {
+                errors.add(new CarBatchError(i, new ResourceNotFoundException("Car Make", "make", carDtoRequest.getMake()).getMessage()));
+                continue;
+            }
+            Car car = carMapper.toCar(carDtoRequest, carMake);
+            // batch rows are always inserted, never merged into an existing car
+            car.setId(null);
+            car.setCreatedAt(createdAt);
             car.setStatus(CarStatus.ACTIVE.getValue());
-            Car saved = carRepository.save(car);
-            return convertToDtoResponse(saved);
-        } catch (JsonProcessingException e) {
-            throw new ResourceConversionException(CAR_DTO, CAR);
+            cars.add(car);
         }
+
+        List<CarDtoResponse> saved = new ArrayList<>(cars.size());
+        // a transaction per chunk, so locks and undo stay bounded however large the batch; a chunk that fails rolls
+        // back alone and the chunks before it stay saved
+        for (int from = 0; from < cars.size(); from += BATCH_SIZE) {
+            List<Car> chunk = cars.subList(from, Math.min(from + BATCH_SIZE, cars.size()));
+            List<Car> savedChunk = Objects.requireNonNull(transactionTemplate.execute(tx -> saveChunk(chunk)));
+            savedChunk.forEach(car -> saved.add(carMapper.toDtoResponse(car)));
+        }
+        return CarBatchResponse.builder()
+                .received(carDtoRequests.size())
+                .saved(saved.size())
+                .failed(errors.size())
+                .cars(saved)
+                .errors(errors)
+                .build();
     }
 
     @Override
+    @Transactional
     public CarDtoResponse updateCar(Long id, CarDtoRequest carDtoRequest) {
         validateRequest(carDtoRequest);
         Car carById = carRepository.findById(id).orElseThrow(
@@ -90,209 +174,239 @@ public class CarServiceImpl implements CarService {
         CarMake carMake = carMakeRepository.findByName(carDtoRequest.getMake()).orElseThrow(
                 () -> new ResourceNotFoundException("Car Make", "make", carDtoRequest.getMake())
         );
-        try {
-            Car convertedToCar = convertToCar(carDtoRequest, carMake);
-            Car updateCar = updateCarDetails(carById, convertedToCar);
-            updateCar.setUpdatedAt(ZonedDateTime.now().toEpochSecond());
-            Car save = carRepository.save(updateCar);
-            return convertToDtoResponse(save);
-        }catch (JsonProcessingException e){
-            throw new ResourceConversionException(CAR_DTO, CAR);
-        }
+        CarStatsIndex.Fact before = CarStatsIndex.fact(carById);
+        Car convertedToCar = carMapper.toCar(carDtoRequest, carMake);
+        Car updateCar = updateCarDetails(carById, convertedToCar);
+        updateCar.setUpdatedAt(ZonedDateTime.now().toEpochSecond());
+        Car save = carRepository.save(updateCar);
+        carOutboxRepository.save(CarOutboxEvent.of(CarChangeEntity.CAR, save.getId(), CarChangeType.UPDATED));
+        carSearchIndex.index(save);
+        carStatsIndex.replace(before, save);
+        return carMapper.toDtoResponse(save);
     }
 
     @Override
+    @Transactional
     public CarDtoResponse updateCarStatus(Long id, CarStatusRequest carStatusRequest) {
         Car existingCar = carRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException(CAR, "id", id)
         );
+        CarStatsIndex.Fact before = CarStatsIndex.fact(existingCar);
         existingCar.setStatus(carStatusRequest.getCarStatus().getValue());
         existingCar.setUpdatedAt(ZonedDateTime.now().toEpochSecond());
         Car savedCar = carRepository.save(existingCar);
-        try {
-            return convertToDtoResponse(savedCar);
-        }catch (JsonProcessingException e){
-            throw new ResourceConversionException(CAR, CAR_DTO);
-        }
+        carOutboxRepository.save(CarOutboxEvent.of(CarChangeEntity.CAR, savedCar.getId(), CarChangeType.STATUS_CHANGED));
+        carStatsIndex.replace(before, savedCar);
+        return carMapper.toDtoResponse(savedCar);
     }
 
     @Override
-    public String deleteCar(Long id) {
-        if (carRepository.existsById(id)) {
-            carRepository.deleteById(id);
-            return "Car with id: " + id + " deleted successfully";
+    public CarBulkStatusResponse updateCarStatuses(CarFilterParams carFilterParams, CarBulkStatusRequest carBulkStatusRequest) {
+        CarStatus status = CarStatus.find(carBulkStatusRequest.getStatus());
+        if (Objects.isNull(status)) {
+            throw new InvalidRequestException("'status' must be any of active, sold, archive, deleted");
+        }
+        List<Long> ids = Objects.isNull(carBulkStatusRequest.getIds()) ? List.of()
+                : carBulkStatusRequest.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        // an empty filter would change every car, which is never what a caller forgot to say
+        boolean filtered = !carFilterParams.getMakes().isEmpty() || CarFilterQueries.mask(List.of(), carFilterParams) != 0;
+        if (ids.isEmpty() && !filtered) {
+            throw new InvalidRequestException("'ids' or a filter is required");
+        }
+        long updatedAt = ZonedDateTime.now().toEpochSecond();
+        int matched = 0;
+        int updated = 0;
+        // a transaction per chunk, so row locks and undo stay bounded however many cars match
+        if (!ids.isEmpty()) {
+            for (int from = 0; from < ids.size(); from += STATUS_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + STATUS_CHUNK_SIZE, ids.size()));
+                StatusChunk result = Objects.requireNonNull(transactionTemplate.execute(
+                        tx -> updateStatusChunk(carRepository.findStatusRowsById(chunk), status.getValue(), updatedAt)));
+                matched += result.getMatched();
+                updated += result.getUpdated();
+            }
         } else {
-            throw new ResourceNotFoundException(CAR, "id", id);
+            long afterId = 0;
+            StatusChunk result;
+            do {
+                long after = afterId;
+                result = Objects.requireNonNull(transactionTemplate.execute(
+                        tx -> updateStatusChunk(carRepository.findStatusRows(carFilterParams, after, STATUS_CHUNK_SIZE), status.getValue(), updatedAt)));
+                matched += result.getMatched();
+                updated += result.getUpdated();
+                afterId = result.getLastId();
+            } while (result.getMatched() == STATUS_CHUNK_SIZE);
         }
+        return CarBulkStatusResponse.builder()
+                .status(status)
+                .matched(matched)
+                .updated(updated)
+                .build();
     }
 
-
     @Override
     @Transactional
-    public Page<CarDtoResponse> findCarByCustomQueryV2(CarFilterParams carFilterParams) {
-        Sort sort = carFilterParams.getSortDirection().equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(carFilterParams.getSortBy()).ascending() : Sort.by(carFilterParams.getSortBy()).descending();
-        Pageable pageable = PageRequest.of(carFilterParams.getPage(), carFilterParams.getSize(), sort);
-        Page<Car> bySomeOfFields = carRepository.findCarWithCustomQueryV2(carFilterParams, pageable);
-        return bySomeOfFields.map(car -> {
-            try {
-                return convertToDtoResponse(car);
-            } catch (JsonProcessingException e) {
-                throw new ResourceConversionException(CAR, CAR_DTO);
-            }
-        });
-    }
-
-    private Car updateCarDetails(Car existingCar, Car car) {
-        existingCar.setCarMake(car.getCarMake());
-        existingCar.setModel(car.getModel());
-        existingCar.setYear(car.getYear());
-        existingCar.setPrice(car.getPrice());
-        existingCar.setElectric(car.isElectric());
-        existingCar.setFeatures(car.getFeatures());
-        existingCar.setEngine(car.getEngine());
-        existingCar.setPreviousOwner(car.getPreviousOwner());
-        existingCar.setWarranty(car.getWarranty());
-        existingCar.setMaintenanceDates(car.getMaintenanceDates());
-        existingCar.setDimensions(car.getDimensions());
-        return existingCar;
+    public String deleteCar(Long id) {
+        // loaded rather than checked, the stats need the make, year, status and price it is leaving
+        Car car = carRepository.findById(id).orElseThrow(
+                () -> new ResourceNotFoundException(CAR, "id", id)
+        );
+        carRepository.deleteById(id);
+        carOutboxRepository.save(CarOutboxEvent.of(CarChangeEntity.CAR, id, CarChangeType.DELETED));
+        carSearchIndex.delete(id);
+        carStatsIndex.remove(car);
+        return "Car with id: " + id + " deleted successfully";
     }
 
-    private CarDtoResponse convertToDtoResponse(Car car) throws JsonProcessingException {
-        Instant createdAt = Instant.ofEpochSecond(car.getCreatedAt());
-        Instant updatedAt = car.getUpdatedAt() != null ? Instant.ofEpochSecond(car.getUpdatedAt()) : null;
-        return CarDtoResponse.builder()
-                .id(car.getId())
-                .make(car.getCarMake().getName())
-                .model(car.getModel())
-                .year(car.getYear())
-                .price(car.getPrice())
-                .isElectric(car.isElectric())
-                .status(CarStatus.fromValue(car.getStatus()))
-                .features(Arrays.asList(objectMapper.readValue(car.getFeatures(), String[].class)))
-                .engine(objectMapper.readValue(car.getEngine(), Engine.class))
-                .previousOwner(car.getPreviousOwner())
-                .warranty(objectMapper.readValue(car.getWarranty(), Warranty.class))
-                .maintenanceDates(Arrays.asList(objectMapper.readValue(car.getMaintenanceDates(), LocalDate[].class)))
-                .dimensions(objectMapper.readValue(car.getDimensions(), Dimensions.class))
-                .createdAt(createdAt.atZone(ZoneId.of("UTC")))
-                .updatedAt(updatedAt != null ? updatedAt.atZone(ZoneId.of("UTC")) : null)
+    @Override
+    public CarStatsResponse getCarStats(String groupBy) {
+        Set<CarStatsDimension> dimensions = CarStatsDimension.parse(groupBy);
+        // served from the in-memory totals, no query
+        List<CarStatsGroup> groups = carStatsIndex.groupBy(dimensions);
+        return CarStatsResponse.builder()
+                .groupBy(dimensions.stream().map(CarStatsDimension::getValue).toList())
+                .count(groups.stream().mapToLong(CarStatsGroup::getCount).sum())
+                .groups(groups)
                 .build();
     }
 
-    private Car convertToCar(CarDtoRequest carDtoRequest, CarMake carMake) throws JsonProcessingException {
-        String engine = objectMapper.writeValueAsString(carDtoRequest.getEngine());
-        String warranty = objectMapper.writeValueAsString(carDtoRequest.getWarranty());
-        String dimensions = objectMapper.writeValueAsString(carDtoRequest.getDimensions());
-        String features = objectMapper.writeValueAsString(carDtoRequest.getFeatures());
-        String maintenanceDates = objectMapper.writeValueAsString(carDtoRequest.getMaintenanceDates());
-        return Car.builder()
-                .id(carDtoRequest.getId())
-                .carMake(carMake)
-                .model(carDtoRequest.getModel())
-                .year(carDtoRequest.getYear())
-                .price(carDtoRequest.getPrice())
-                .isElectric(carDtoRequest.isElectric())
-                .features(features)
-                .engine(engine)
-                .previousOwner(carDtoRequest.getPreviousOwner())
-                .warranty(warranty)
-                .maintenanceDates(maintenanceDates)
-                .dimensions(dimensions)
-                .build();
-    }
 
-    private void validateRequest(CarDtoRequest carDtoRequest){
-        validateMake(carDtoRequest.getMake());
-        validateModel(carDtoRequest.getModel());
-        validateYear(carDtoRequest.getYear());
-        validatePrice(carDtoRequest.getPrice());
-        validateFeatures(carDtoRequest.getFeatures());
-        validateEngine(carDtoRequest.getEngine());
-        validatePreviousOwner(carDtoRequest.getPreviousOwner());
-        validateWarranty(carDtoRequest.getWarranty());
-        validateMaintenanceDates(carDtoRequest.getMaintenanceDates());
-        validateDimensions(carDtoRequest.getDimensions());
+    @Override
+    @Transactional(readOnly = true)
+    public List<CarDtoResponse> searchCars(String query, int limit) {
+        if (Objects.isNull(query) || query.isBlank()) {
+            throw new InvalidRequestException("'q' must not be empty");
+        }
+        List<Long> ids = carSearchIndex.search(query, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Car> cars = new HashMap<>();
+        carRepository.findAllById(ids).forEach(car -> cars.put(car.getId(), car));
+        // keep the index's ranking; ids deleted behind the index's back are skipped
+        return ids.stream()
+                .map(cars::get)
+                .filter(Objects::nonNull)
+                .map(carMapper::toDtoResponse)
+                .toList();
     }
 
-    private void validateMaintenanceDates(List<LocalDate> maintenanceDates) {
-        if (Objects.isNull(maintenanceDates)){
-            throw new InvalidRequestException("'maintenanceDates' must not be null");
-        } else if (maintenanceDates.size() < 2 || maintenanceDates.size() > 10) {
-            throw new InvalidRequestException("'maintenanceDates' must be between 2 and 10");
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CarDtoResponse> findCarByCustomQueryV2(CarFilterParams carFilterParams) {
+        Page<Car> bySomeOfFields = carRepository.findCarWithCustomQueryV2(carFilterParams, toPageable(carFilterParams));
+        return bySomeOfFields.map(carMapper::toDtoResponse);
     }
 
-    private void validateMake(String make){
-        if (Objects.isNull(make) || make.isEmpty() || make.isBlank()){
-            throw new InvalidRequestException("'make' must not be empty");
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public CarSliceResponse findCarSliceByCustomQuery(CarFilterParams carFilterParams) {
+        Slice<Car> slice = carRepository.findCarSliceWithCustomQuery(carFilterParams, toPageable(carFilterParams));
+        return CarSliceResponse.builder()
+                .content(slice.getContent().stream().map(carMapper::toDtoResponse).toList())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .build();
     }
 
-    private void validateModel(String model){
-        if (Objects.isNull(model) || model.isEmpty()||model.isBlank()){
-            throw new InvalidRequestException("'model' must not be empty");
+    @Override
+    @Transactional(readOnly = true)
+    public CarCursorPageResponse findCarByCursor(CarFilterParams carFilterParams) {
+        String sortBy = CarCursor.keysetColumn(carFilterParams.getSortBy());
+        String token = carFilterParams.getCursor();
+        CarCursor after = Objects.isNull(token) || token.isBlank() ? null : CarCursor.decode(token);
+        if (Objects.nonNull(after) && !after.getSortBy().equals(sortBy)) {
+            throw new InvalidRequestException("'cursor' does not match 'sortBy'");
         }
+        int size = Math.max(carFilterParams.getSize(), 1);
+        // one extra row tells us whether another page exists without counting
+        List<Car> cars = carRepository.findCarWithKeyset(carFilterParams, after, size + 1);
+        boolean hasNext = cars.size() > size;
+        List<Car> page = hasNext ? cars.subList(0, size) : cars;
+        return CarCursorPageResponse.builder()
+                .content(page.stream().map(carMapper::toDtoResponse).toList())
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CarCursor.of(page.get(size - 1), sortBy).encode() : null)
+                .build();
     }
 
-    private void validateYear(int year){
-        if (year < 1950){
-            throw new InvalidRequestException("'year' must be greater than or equal to 1950");
-        }else if (year > 2024){
-            throw new InvalidRequestException("'year' must be less than or equal to 2024");
+    private Map<String, CarMake> findCarMakes(List<CarDtoRequest> carDtoRequests) {
+        Set<String> names = new HashSet<>();
+        for (CarDtoRequest carDtoRequest : carDtoRequests) {
+            if (carDtoRequest != null && carDtoRequest.getMake() != null) {
+                names.add(carDtoRequest.getMake());
+            }
+        }
+        // make names are matched case-insensitively by the column collation, same as findByName
+        Map<String, CarMake> carMakes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (!names.isEmpty()) {
+            carMakeRepository.findByNameIn(names).forEach(carMake -> carMakes.put(carMake.getName(), carMake));
         }
+        return carMakes;
     }
 
-    private void validatePrice(double price){
-        if (price <= 0 ){
-            throw new InvalidRequestException("'price' must be greater than 0");
-        }
+    private Pageable toPageable(CarFilterParams carFilterParams) {
+        Sort sort = carFilterParams.getSortDirection().equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(carFilterParams.getSortBy()).ascending() : Sort.by(carFilterParams.getSortBy()).descending();
+        return PageRequest.of(carFilterParams.getPage(), carFilterParams.getSize(), sort);
     }
 
-    private void validateFeatures(List<String> features){
-        if (Objects.isNull(features) || features.isEmpty() || features.size() >10){
-            throw new InvalidRequestException("'features' size must be between 2 and 10");
-        }
+    private Car updateCarDetails(Car existingCar, Car car) {
+        existingCar.setCarMake(car.getCarMake());
+        existingCar.setModel(car.getModel());
+        existingCar.setYear(car.getYear());
+        existingCar.setPrice(car.getPrice());
+        existingCar.setElectric(car.isElectric());
+        existingCar.setFeatures(car.getFeatures());
+        existingCar.setEngine(car.getEngine());
+        existingCar.setPreviousOwner(car.getPreviousOwner());
+        existingCar.setWarranty(car.getWarranty());
+        existingCar.setMaintenanceDates(car.getMaintenanceDates());
+        existingCar.setDimensions(car.getDimensions());
+        return existingCar;
     }
 
-    private static void validateEngine(Engine engine){
-        if (Objects.isNull(engine)){
-            throw new InvalidRequestException("'engine' must not be null");
-        } else if (Objects.isNull(engine.getType())|| engine.getType().isEmpty() || engine.getType().isBlank()) {
-            throw new InvalidRequestException("'engine.type' must not be empty");
-        } else if (engine.getTorque() < 0) {
-            throw new InvalidRequestException("'engine.torque' must be greater than or equal to 0");
-        } else if (engine.getHorsepower() < 0) {
-            throw new InvalidRequestException("'engine.horsepower' must be greater than or equal to 0");
-        }
+    private List<Car> saveChunk(List<Car> chunk) {
+        List<Car> savedChunk = carRepository.saveAll(chunk);
+        savedChunk.forEach(carSearchIndex::index);
+        carStatsIndex.addAll(savedChunk);
+        carOutboxRepository.saveAll(savedChunk.stream()
+                .map(car -> CarOutboxEvent.of(CarChangeEntity.CAR, car.getId(), CarChangeType.CREATED))
+                .toList());
+        // one JDBC batch per chunk, then drop the chunk from the persistence context
+        entityManager.flush();
+        entityManager.clear();
+        return savedChunk;
     }
 
-    private static void validatePreviousOwner(int previousOwner){
-        if (previousOwner < 0 ){
-            throw new InvalidRequestException("'previousOwner' must be greater than or equal to 0");
+    private StatusChunk updateStatusChunk(List<Car> cars, String status, long updatedAt) {
+        List<Car> changing = cars.stream().filter(car -> !status.equals(car.getStatus())).toList();
+        int updated = 0;
+        if (!changing.isEmpty()) {
+            updated = carRepository.updateStatus(changing.stream().map(Car::getId).toList(), status, updatedAt);
+            carOutboxRepository.saveAll(changing.stream()
+                    .map(car -> CarOutboxEvent.of(CarChangeEntity.CAR, car.getId(), CarChangeType.STATUS_CHANGED))
+                    .toList());
+            // the rows are detached, moving them to the new status only touches the stats
+            List<CarStatsIndex.Fact> before = changing.stream().map(CarStatsIndex::fact).toList();
+            changing.forEach(car -> car.setStatus(status));
+            carStatsIndex.replaceAll(before, changing);
         }
+        return new StatusChunk(cars.size(), updated, cars.isEmpty() ? 0 : cars.get(cars.size() - 1).getId());
     }
 
-    private static void validateWarranty(Warranty warranty){
-        if (Objects.isNull(warranty)) {
-            throw new InvalidRequestException("'warranty' must not be null");
-        } else if (warranty.getBasic() == null || warranty.getBasic().isEmpty() || warranty.getBasic().isBlank()) {
-            throw new InvalidRequestException("'warranty.basic' must not be empty");
-        } else if (warranty.getPowertrain() == null || warranty.getPowertrain().isEmpty() || warranty.getPowertrain().isBlank()) {
-            throw new InvalidRequestException("'warranty.powertrain' must not be empty");
+    private void validateRequest(CarDtoRequest carDtoRequest){
+        List<String> violations = CarRequestValidator.validate(carDtoRequest);
+        if (!violations.isEmpty()) {
+            throw new InvalidRequestException(CarRequestValidator.message(violations));
         }
     }
 
-    private static void validateDimensions(Dimensions dimensions){
-        if (Objects.isNull(dimensions)){
-            throw new InvalidRequestException("'dimensions' must not be empty");
-        } else if (dimensions.getLength() < 0) {
-            throw new InvalidRequestException("'dimensions.length' must be greater than or equal to 0");
-        } else if (dimensions.getWidth() < 0) {
-            throw new InvalidRequestException("'dimensions.width' must be greater than or equal to 0");
-        } else if (dimensions.getHeight() < 0) {
-            throw new InvalidRequestException("'dimensions.height' must be greater than or equal to 0");
-        } else if (dimensions.getWeight() < 0) {
-            throw new InvalidRequestException("'dimensions.weight' must be greater than or equal to 0");
-        }
+    @Value
+    static class StatusChunk {
+        int matched;
+        int updated;
+        long lastId;
     }
 }
@@ -0,0 +1,35 @@
+package com.sonarcube.eighty.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.StringJoiner;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    // strong ETag from ids and @Version counters; every committed write bumps a version, so the tag changes with
+    // every change to the representation, however close together the writes are
+    public static String of(Object... parts) {
+        StringJoiner joiner = new StringJoiner("-", "\"", "\"");
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        return joiner.toString();
+    }
+
+    // strong ETag from a digest of the representation, for lists with no version of their own; the content is
+    // hashed through toString, so it has to print every field that is serialized
+    public static String ofContent(Object content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(String.valueOf(content).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM has to ship SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
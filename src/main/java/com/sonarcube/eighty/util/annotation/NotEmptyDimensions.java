@@ -1,18 +0,0 @@
-package com.sonarcube.eighty.util.annotation;
-
-import jakarta.validation.Constraint;
-import jakarta.validation.Payload;
-
-import java.lang.annotation.ElementType;
-import java.lang.annotation.Retention;
-import java.lang.annotation.RetentionPolicy;
-import java.lang.annotation.Target;
-
-@Constraint(validatedBy = NotEmptyDimensionsValidator.class)
-@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
-@Retention(RetentionPolicy.RUNTIME)
-public @interface NotEmptyDimensions {
-    String message() default "must not be empty";
-    Class<?>[] groups() default {};
-    Class<? extends Payload>[] payload() default {};
-}
@@ -0,0 +1,12 @@
+package com.sonarcube.eighty.util.converter;
+
+import com.sonarcube.eighty.dto.Dimensions;
+import jakarta.persistence.Converter;
+
+// Dimensions has setters, so Hibernate snapshots it and compares by equals; an in-place change is persisted
+@Converter
+public class DimensionsConverter extends JsonAttributeConverter<Dimensions> {
+    public DimensionsConverter() {
+        super(mapper -> mapper.constructType(Dimensions.class));
+    }
+}
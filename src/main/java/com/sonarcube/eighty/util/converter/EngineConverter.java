@@ -0,0 +1,12 @@
+package com.sonarcube.eighty.util.converter;
+
+import com.sonarcube.eighty.dto.Engine;
+import jakarta.persistence.Converter;
+
+// Engine has setters, so Hibernate snapshots it and compares by equals; an in-place change is persisted
+@Converter
+public class EngineConverter extends JsonAttributeConverter<Engine> {
+    public EngineConverter() {
+        super(mapper -> mapper.constructType(Engine.class));
+    }
+}
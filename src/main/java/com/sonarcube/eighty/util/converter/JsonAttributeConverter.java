@@ -0,0 +1,84 @@
+package com.sonarcube.eighty.util.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sonarcube.eighty.exception.ResourceConversionException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.AttributeConverter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Subclasses state how Hibernate treats the values they read. A mutable value type is snapshotted and compared by
+// equals, so it needs value equality. A converter marked @Immutable must hand out values that cannot be changed in
+// place, because Hibernate will never notice such a change.
+public abstract class JsonAttributeConverter<T> implements AttributeConverter<T, String> {
+    public static final String CONVERSION_TIMER = "cars.json.conversion";
+
+    // dates are stored as ISO strings ("2024-09-05"), matching the rows already in the table; keys a value type no
+    // longer has are skipped, as Boot's mapper does, so older rows still load
+    static final JsonMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Timer readTimer;
+    private final Timer writeTimer;
+
+    protected JsonAttributeConverter(Function<JsonMapper, JavaType> type) {
+        JavaType javaType = type.apply(MAPPER);
+        this.reader = MAPPER.readerFor(javaType);
+        this.writer = MAPPER.writerFor(javaType);
+        // Hibernate instantiates converters itself, so they report through the global registry Spring Boot joins
+        this.readTimer = conversionTimer("read");
+        this.writeTimer = conversionTimer("write");
+    }
+
+    @Override
+    public String convertToDatabaseColumn(T attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return writer.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new ResourceConversionException("CarDto", "Car", e);
+        } finally {
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public T convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return reader.readValue(dbData);
+        } catch (JsonProcessingException e) {
+            throw new ResourceConversionException("Car", "CarDto", e);
+        } finally {
+            readTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer conversionTimer(String direction) {
+        return Timer.builder(CONVERSION_TIMER)
+                .description("Latency of JSON column conversion")
+                .tag("converter", getClass().getSimpleName())
+                .tag("direction", direction)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.sonarcube.eighty.util.converter;
+
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+// @Immutable skips the dirty-checking snapshot; the lists it reads are unmodifiable, so an in-place change
+// fails instead of being silently dropped, and a changed list has to be set as a new one
+@Converter
+@Immutable
+public class LocalDateListConverter extends JsonAttributeConverter<List<LocalDate>> {
+    public LocalDateListConverter() {
+        super(mapper -> mapper.getTypeFactory().constructCollectionType(List.class, LocalDate.class));
+    }
+
+    @Override
+    public List<LocalDate> convertToEntityAttribute(String dbData) {
+        List<LocalDate> values = super.convertToEntityAttribute(dbData);
+        return values != null ? Collections.unmodifiableList(values) : null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.sonarcube.eighty.util.converter;
+
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Collections;
+import java.util.List;
+
+// @Immutable skips the dirty-checking snapshot; the lists it reads are unmodifiable, so an in-place change
+// fails instead of being silently dropped, and a changed list has to be set as a new one
+@Converter
+@Immutable
+public class StringListConverter extends JsonAttributeConverter<List<String>> {
+    public StringListConverter() {
+        super(mapper -> mapper.getTypeFactory().constructCollectionType(List.class, String.class));
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String dbData) {
+        List<String> values = super.convertToEntityAttribute(dbData);
+        return values != null ? Collections.unmodifiableList(values) : null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.sonarcube.eighty.util.converter;
+
+import com.sonarcube.eighty.dto.Warranty;
+import jakarta.persistence.Converter;
+
+// Warranty has setters, so Hibernate snapshots it and compares by equals; an in-place change is persisted
+@Converter
+public class WarrantyConverter extends JsonAttributeConverter<Warranty> {
+    public WarrantyConverter() {
+        super(mapper -> mapper.constructType(Warranty.class));
+    }
+}
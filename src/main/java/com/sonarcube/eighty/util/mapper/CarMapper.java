@@ -0,0 +1,56 @@
+package com.sonarcube.eighty.util.mapper;
+
+import com.sonarcube.eighty.dto.CarDtoRequest;
+import com.sonarcube.eighty.dto.CarDtoResponse;
+import com.sonarcube.eighty.dto.CarStatus;
+import com.sonarcube.eighty.model.Car;
+import com.sonarcube.eighty.model.CarMake;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+// stateless, so the JMH benchmarks construct it directly instead of a service with all its repositories
+@Component
+public class CarMapper {
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    public CarDtoResponse toDtoResponse(Car car) {
+        Instant createdAt = Instant.ofEpochSecond(car.getCreatedAt());
+        Instant updatedAt = car.getUpdatedAt() != null ? Instant.ofEpochSecond(car.getUpdatedAt()) : null;
+        return CarDtoResponse.builder()
+                .id(car.getId())
+                .make(car.getCarMake().getName())
+                .model(car.getModel())
+                .year(car.getYear())
+                .price(car.getPrice())
+                .isElectric(car.isElectric())
+                .status(CarStatus.fromValue(car.getStatus()))
+                .features(car.getFeatures())
+                .engine(car.getEngine())
+                .previousOwner(car.getPreviousOwner())
+                .warranty(car.getWarranty())
+                .maintenanceDates(car.getMaintenanceDates())
+                .dimensions(car.getDimensions())
+                .createdAt(createdAt.atZone(UTC))
+                .updatedAt(updatedAt != null ? updatedAt.atZone(UTC) : null)
+                .build();
+    }
+
+    public Car toCar(CarDtoRequest carDtoRequest, CarMake carMake) {
+        return Car.builder()
+                .id(carDtoRequest.getId())
+                .carMake(carMake)
+                .model(carDtoRequest.getModel())
+                .year(carDtoRequest.getYear())
+                .price(carDtoRequest.getPrice())
+                .isElectric(carDtoRequest.isElectric())
+                .features(carDtoRequest.getFeatures())
+                .engine(carDtoRequest.getEngine())
+                .previousOwner(carDtoRequest.getPreviousOwner())
+                .warranty(carDtoRequest.getWarranty())
+                .maintenanceDates(carDtoRequest.getMaintenanceDates())
+                .dimensions(carDtoRequest.getDimensions())
+                .build();
+    }
+}
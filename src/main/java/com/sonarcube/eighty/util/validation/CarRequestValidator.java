@@ -0,0 +1,141 @@
+package com.sonarcube.eighty.util.validation;
+
+import com.sonarcube.eighty.dto.CarDtoRequest;
+import com.sonarcube.eighty.dto.Dimensions;
+import com.sonarcube.eighty.dto.Engine;
+import com.sonarcube.eighty.dto.Warranty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// every rule a car has to pass, written out per type: one pass over the request, no reflection, and every
+// violation is collected instead of stopping at the first one. Messages keep the "'field' ..." format of the
+// Bean Validation errors the controller used to return.
+public final class CarRequestValidator {
+
+    private CarRequestValidator() {
+    }
+
+    // empty when the car is valid
+    public static List<String> validate(CarDtoRequest car) {
+        List<String> violations = new ArrayList<>(2);
+        if (car == null) {
+            violations.add("'car' must not be null");
+            return violations;
+        }
+        if (isBlank(car.getMake())) {
+            violations.add("'make' must not be empty");
+        }
+        if (isBlank(car.getModel())) {
+            violations.add("'model' must not be empty");
+        }
+        if (car.getYear() < 1950) {
+            violations.add("'year' must be greater than or equal to 1950");
+        } else if (car.getYear() > 2024) {
+            violations.add("'year' must be less than or equal to 2024");
+        }
+        if (car.getPrice() <= 0) {
+            violations.add("'price' must be greater than 0");
+        }
+        validateFeatures(car.getFeatures(), violations);
+        validateEngine(car.getEngine(), violations);
+        if (car.getPreviousOwner() < 0) {
+            violations.add("'previousOwner' must be greater than or equal to 0");
+        }
+        validateWarranty(car.getWarranty(), violations);
+        validateMaintenanceDates(car.getMaintenanceDates(), violations);
+        validateDimensions(car.getDimensions(), violations);
+        return violations;
+    }
+
+    // the violations as one message, the way the error body and the batch errors report them
+    public static String message(List<String> violations) {
+        return violations.size() == 1 ? violations.get(0) : String.join(", ", violations);
+    }
+
+    static void validateFeatures(List<String> features, List<String> violations) {
+        if (features == null || features.size() < 2 || features.size() > 10) {
+            violations.add("'features' size must be between 2 and 10");
+        } else if (containsNull(features)) {
+            violations.add("'features' must not contain null values");
+        }
+    }
+
+    static void validateEngine(Engine engine, List<String> violations) {
+        if (engine == null) {
+            violations.add("'engine' must not be null");
+            return;
+        }
+        if (isBlank(engine.getType())) {
+            violations.add("'engine.type' must not be empty");
+        }
+        if (engine.getTorque() < 0) {
+            violations.add("'engine.torque' must be greater than or equal to 0");
+        }
+        if (engine.getHorsepower() < 0) {
+            violations.add("'engine.horsepower' must be greater than or equal to 0");
+        }
+    }
+
+    static void validateWarranty(Warranty warranty, List<String> violations) {
+        if (warranty == null) {
+            violations.add("'warranty' must not be null");
+            return;
+        }
+        if (isBlank(warranty.getBasic())) {
+            violations.add("'warranty.basic' must not be empty");
+        }
+        if (isBlank(warranty.getPowertrain())) {
+            violations.add("'warranty.powertrain' must not be empty");
+        }
+    }
+
+    static void validateMaintenanceDates(List<?> maintenanceDates, List<String> violations) {
+        if (maintenanceDates == null) {
+            violations.add("'maintenanceDates' must not be null");
+        } else if (maintenanceDates.size() < 2 || maintenanceDates.size() > 10) {
+            violations.add("'maintenanceDates' size must be between 2 and 10");
+        } else if (containsNull(maintenanceDates)) {
+            violations.add("'maintenanceDates' must not contain null values");
+        }
+    }
+
+    static void validateDimensions(Dimensions dimensions, List<String> violations) {
+        if (dimensions == null) {
+            violations.add("'dimensions' must not be empty");
+            return;
+        }
+        int before = violations.size();
+        if (dimensions.getLength() < 0) {
+            violations.add("'dimensions.length' must be greater than or equal to 0");
+        }
+        if (dimensions.getWidth() < 0) {
+            violations.add("'dimensions.width' must be greater than or equal to 0");
+        }
+        if (dimensions.getHeight() < 0) {
+            violations.add("'dimensions.height' must be greater than or equal to 0");
+        }
+        if (dimensions.getWeight() < 0) {
+            violations.add("'dimensions.weight' must be greater than or equal to 0");
+        }
+        // a zero measurement is as good as a missing one
+        if (violations.size() == before && (dimensions.getLength() == 0 || dimensions.getWidth() == 0
+                || dimensions.getHeight() == 0 || dimensions.getWeight() == 0)) {
+            violations.add("'dimensions' must not be empty");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean containsNull(List<?> values) {
+        // List.of rejects contains(null), so walk the list
+        for (Object value : values) {
+            if (value == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
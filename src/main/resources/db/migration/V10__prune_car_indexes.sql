@@ -0,0 +1,6 @@
+-- every secondary index on car is paid for on each insert, and the batch import writes thousands of rows at a time.
+-- idx_car_make_price (V8) starts with make_id, so it backs the foreign key and make-only filters, and the plain
+-- make_id index is redundant. No /car/filter query in benchmark/filter_indexes.sql uses status + model or year alone.
+DROP INDEX `make_id` ON `car`;
+DROP INDEX `idx_car_status_model` ON `car`;
+DROP INDEX `idx_car_year` ON `car`;
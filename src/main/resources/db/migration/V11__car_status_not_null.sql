@@ -0,0 +1,4 @@
+-- status is a keyset column for /car/filter cursors, and a (status, id) > (?, ?) seek silently skips NULL rows.
+-- Every write path sets it, so only rows inserted outside the service can be NULL; they get the column default.
+UPDATE `car` SET `status` = 'active' WHERE `status` IS NULL;
+ALTER TABLE `car` MODIFY `status` varchar(255) NOT NULL DEFAULT 'active';
@@ -0,0 +1,9 @@
+-- /car/filter always binds status; make, year and the sort column narrow it further
+CREATE INDEX `idx_car_status_make_year` ON `car` (`status`, `make_id`, `year`);
+CREATE INDEX `idx_car_status_year` ON `car` (`status`, `year`);
+CREATE INDEX `idx_car_status_price` ON `car` (`status`, `price`);
+CREATE INDEX `idx_car_status_model` ON `car` (`status`, `model`);
+CREATE INDEX `idx_car_status_created_at` ON `car` (`status`, `created_at`);
+
+-- findByName runs on every car write and filter request
+CREATE UNIQUE INDEX `uk_car_make_name` ON `car_make` (`name`);
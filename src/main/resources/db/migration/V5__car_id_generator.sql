@@ -0,0 +1,10 @@
+-- car ids come from a pooled table generator (allocation size 50) so inserts can be JDBC batched
+CREATE TABLE `car_id_generator` (
+  `sequence_name` varchar(255) NOT NULL,
+  `next_val` bigint NOT NULL,
+  PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- continue after both the existing rows and the auto increment counter
+INSERT INTO `car_id_generator` (`sequence_name`, `next_val`)
+SELECT 'car', GREATEST(COALESCE(MAX(`id`), 0) + 1, 3401) FROM `car`;
@@ -0,0 +1,3 @@
+-- price ranges are the most common /car/filter narrowing after status, usually per make or for electric cars only
+CREATE INDEX `idx_car_status_make_price` ON `car` (`status`, `make_id`, `price`);
+CREATE INDEX `idx_car_status_electric_price` ON `car` (`status`, `is_electric`, `price`);
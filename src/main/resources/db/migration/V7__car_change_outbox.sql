@@ -0,0 +1,23 @@
+-- written in the same transaction as the car or make it describes; the relay drains it into car_change
+CREATE TABLE `car_outbox` (
+  `id` bigint NOT NULL,
+  `entity` varchar(16) NOT NULL,
+  `entity_id` bigint NOT NULL,
+  `type` varchar(16) NOT NULL,
+  `created_at` bigint NOT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- the log behind GET /changes; sequences are handed out by the relay, so a consumer's last sequence never skips a change
+CREATE TABLE `car_change` (
+  `sequence` bigint NOT NULL,
+  `entity` varchar(16) NOT NULL,
+  `entity_id` bigint NOT NULL,
+  `type` varchar(16) NOT NULL,
+  `created_at` bigint NOT NULL,
+  PRIMARY KEY (`sequence`),
+  KEY `idx_car_change_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- outbox ids are pooled like car ids so batch saves stay batched; the car_change row is also the relay lock
+INSERT INTO `car_id_generator` (`sequence_name`, `next_val`) VALUES ('car_outbox', 1), ('car_change', 1);
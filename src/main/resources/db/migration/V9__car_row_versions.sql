@@ -0,0 +1,4 @@
+-- optimistic-lock versions, bumped on every write; the car ETag is built from them instead of the second-granularity
+-- updated_at, which two writes in the same second leave unchanged
+ALTER TABLE `car` ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
+ALTER TABLE `car_make` ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,43 @@
+package com.sonarcube.eighty.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final CacheConfig cacheConfig = new CacheConfig();
+
+    @Test
+    void testHibernateCacheManager_shouldCreateEveryRegionBoundedWithStatistics() {
+        //Act
+        CacheManager cacheManager = cacheConfig.hibernateCacheManager(500);
+        //Assert
+        for (String region : CacheConfig.HIBERNATE_REGIONS) {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            assertNotNull(cache, region);
+            @SuppressWarnings("unchecked")
+            CaffeineConfiguration<Object, Object> configuration = cache.getConfiguration(CaffeineConfiguration.class);
+            assertTrue(configuration.getMaximumSize().isPresent(), region);
+            assertTrue(configuration.isStatisticsEnabled(), region);
+        }
+    }
+
+    @Test
+    void testHibernateCacheManager_shouldReuseRegionsThatAlreadyExist() {
+        //Arrange
+        // the provider hands out one manager per class loader, e.g. when a test context was already started
+        CacheManager first = cacheConfig.hibernateCacheManager(500);
+        //Act
+        CacheManager second = cacheConfig.hibernateCacheManager(500);
+        //Assert
+        assertSame(first, second);
+        assertNotEquals(OptionalLong.empty(), second.getCache(CacheConfig.CAR_MAKE_REGION)
+                .getConfiguration(CaffeineConfiguration.class).getMaximumSize());
+    }
+}
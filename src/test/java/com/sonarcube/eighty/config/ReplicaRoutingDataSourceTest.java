@@ -0,0 +1,147 @@
+package com.sonarcube.eighty.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource firstReplica;
+    private DataSource secondReplica;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(DataSource.class);
+        firstReplica = mock(DataSource.class);
+        secondReplica = mock(DataSource.class);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica), Duration.ofSeconds(5), "SHOW REPLICA STATUS");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void testLookup_shouldSendWritesToPrimary() {
+        //Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        //Act
+        Object key = routingDataSource.determineCurrentLookupKey();
+        //Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, key);
+    }
+
+    @Test
+    void testLookup_shouldRoundRobinReadOnlyWorkAcrossReplicas() {
+        //Arrange
+        readOnlyTransaction();
+        //Act
+        List<Object> keys = List.of(routingDataSource.determineCurrentLookupKey(), routingDataSource.determineCurrentLookupKey(), routingDataSource.determineCurrentLookupKey());
+        //Assert
+        assertEquals(List.of("replica-0", "replica-1", "replica-0"), keys);
+    }
+
+    @Test
+    void testLookup_shouldSkipReplicaBehindMaxLag() throws SQLException {
+        //Arrange
+        replicaLag(firstReplica, 60L);
+        replicaLag(secondReplica, 1L);
+        routingDataSource.checkReplicaLag();
+        readOnlyTransaction();
+        //Act
+        List<Object> keys = List.of(routingDataSource.determineCurrentLookupKey(), routingDataSource.determineCurrentLookupKey());
+        //Assert
+        assertEquals(List.of("replica-1", "replica-1"), keys);
+    }
+
+    @Test
+    void testLookup_shouldFallBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        //Arrange
+        when(firstReplica.getConnection()).thenThrow(new SQLException("down"));
+        replicaLag(secondReplica, null);
+        routingDataSource.checkReplicaLag();
+        readOnlyTransaction();
+        //Act
+        Object key = routingDataSource.determineCurrentLookupKey();
+        //Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, key);
+    }
+
+    @Test
+    void testLookup_shouldPinReadsToPrimaryAfterWriteInSameRequest() throws Exception {
+        //Arrange
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Object> keys = new ArrayList<>();
+        //Act
+        filter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse servletResponse) {
+                TransactionSynchronizationManager.setActualTransactionActive(true);
+                keys.add(routingDataSource.determineCurrentLookupKey());
+                readOnlyTransaction();
+                keys.add(routingDataSource.determineCurrentLookupKey());
+            }
+        });
+        //Assert
+        assertEquals(List.of(ReplicaRoutingDataSource.PRIMARY, ReplicaRoutingDataSource.PRIMARY), keys);
+        assertNotNull(response.getCookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE));
+    }
+
+    @Test
+    void testLookup_shouldPinReadsToPrimaryWhileStickyCookieIsValid() throws Exception {
+        //Arrange
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new jakarta.servlet.http.Cookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE, String.valueOf(System.currentTimeMillis() + 5_000)));
+        List<Object> keys = new ArrayList<>();
+        //Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest servletRequest, jakarta.servlet.ServletResponse response) {
+                readOnlyTransaction();
+                keys.add(routingDataSource.determineCurrentLookupKey());
+            }
+        });
+        //Assert
+        assertEquals(List.of(ReplicaRoutingDataSource.PRIMARY), keys);
+    }
+
+    private void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private void replicaLag(DataSource replica, Long lagSeconds) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong("Seconds_Behind_Source")).thenReturn(lagSeconds == null ? 0L : lagSeconds);
+        when(resultSet.wasNull()).thenReturn(lagSeconds == null);
+    }
+}
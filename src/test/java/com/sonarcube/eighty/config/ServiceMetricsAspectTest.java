@@ -0,0 +1,60 @@
+package com.sonarcube.eighty.config;
+
+import com.sonarcube.eighty.exception.ResourceNotFoundException;
+import com.sonarcube.eighty.service.implementation.CarServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceMetricsAspect serviceMetricsAspect;
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        serviceMetricsAspect = new ServiceMetricsAspect(meterRegistry);
+        Method method = CarServiceImpl.class.getMethod("getCarById", Long.class);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+    }
+
+    @Test
+    void testTime_shouldRecordEveryCallOnOneTimerPerMethod() throws Throwable {
+        //Arrange
+        when(joinPoint.proceed()).thenReturn("car");
+        //Act
+        Object first = serviceMetricsAspect.time(joinPoint);
+        serviceMetricsAspect.time(joinPoint);
+        //Assert
+        assertEquals("car", first);
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER)
+                .tag("class", "CarServiceImpl")
+                .tag("method", "getCarById")
+                .timer();
+        assertEquals(2, timer.count());
+        assertEquals(1, meterRegistry.getMeters().size());
+    }
+
+    @Test
+    void testTime_shouldRecordCallsThatThrow() throws Throwable {
+        //Arrange
+        when(joinPoint.proceed()).thenThrow(new ResourceNotFoundException("Car", "id", 1L));
+        //Act
+        assertThrows(ResourceNotFoundException.class, () -> serviceMetricsAspect.time(joinPoint));
+        //Assert
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER).timer().count());
+    }
+}
@@ -0,0 +1,108 @@
+package com.sonarcube.eighty.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sonarcube.eighty.dto.CarMakeRequest;
+import com.sonarcube.eighty.dto.CarMakeResponse;
+import com.sonarcube.eighty.repository.CarChangeRepository;
+import com.sonarcube.eighty.service.implementation.CarChangeServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CarChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CarChangeServiceImpl carChangeService;
+
+    @Autowired
+    private CarChangeRepository carChangeRepository;
+
+    @Test
+    void testGetChanges_shouldReturnChangesAfterSince() throws Exception {
+        //Arrange
+        long since = lastSequence();
+        CarMakeResponse carMake = saveCarMake("ChangeFeed" + System.nanoTime());
+        carChangeService.relay();
+        //Act
+        MvcResult result = mockMvc.perform(get("/changes")
+                        .param("since", String.valueOf(since))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].sequence").value(since + 1))
+                .andExpect(jsonPath("$.changes[0].entity").value("MAKE"))
+                .andExpect(jsonPath("$.changes[0].id").value(carMake.getId()))
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.nextSince").value(since + 1))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void testGetChanges_shouldHoldLongPollUntilSomethingChanges() throws Exception {
+        //Arrange
+        CarMakeResponse carMake = saveCarMake("ChangeFeed" + System.nanoTime());
+        long since = lastSequence();
+        MvcResult result = mockMvc.perform(get("/changes")
+                        .param("since", String.valueOf(since))
+                        .param("wait", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //Act
+        mockMvc.perform(put("/makes/" + carMake.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CarMakeRequest(carMake.getName() + "Renamed"))))
+                .andExpect(status().isOk());
+        carChangeService.relay();
+        //Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].entity").value("MAKE"))
+                .andExpect(jsonPath("$.changes[0].id").value(carMake.getId()))
+                .andExpect(jsonPath("$.changes[0].type").value("UPDATED"));
+    }
+
+    @Test
+    void testGetChanges_shouldThrowBadRequest_sinceNotANumber() throws Exception {
+        mockMvc.perform(get("/changes")
+                        .param("since", "yesterday")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long lastSequence() {
+        // drain whatever earlier writes left in the outbox first
+        carChangeService.relay();
+        Long last = carChangeRepository.findLastSequence();
+        return last != null ? last : 0;
+    }
+
+    private CarMakeResponse saveCarMake(String name) throws Exception {
+        String response = mockMvc.perform(post("/makes")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CarMakeRequest(name))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, CarMakeResponse.class);
+    }
+}
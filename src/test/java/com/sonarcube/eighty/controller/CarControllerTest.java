@@ -1,6 +1,5 @@
 package com.sonarcube.eighty.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,6 +9,7 @@ import com.sonarcube.eighty.model.Car;
 import com.sonarcube.eighty.model.CarMake;
 import com.sonarcube.eighty.repository.CarMakeRepository;
 import com.sonarcube.eighty.repository.CarRepository;
+import com.sonarcube.eighty.repository.CarStatsIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -21,12 +21,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.*;
 
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,9 +53,15 @@ class CarControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CarStatsIndex carStatsIndex;
+
 
     @BeforeEach
-    void setUp() throws JsonProcessingException {
+    void setUp() {
         carRepository.deleteAll();
         initCarData();
     }
@@ -91,10 +103,46 @@ class CarControllerTest {
                 });
     }
 
+    @Test
+    void testGetAllCars_shouldReturnJsonArray_noAcceptHeader() throws Exception {
+        //Act
+        mockMvc.perform(get("/car"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                //Assert
+                .andDo(result -> {
+                    List<CarDtoResponse> cars = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+                    });
+                    assertEquals(carRepository.count(), cars.size());
+                });
+        mockMvc.perform(get("/car")
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void testStreamAllCars_shouldReturnOneJsonLinePerCar() throws Exception {
+        //Act
+        mockMvc.perform(get("/car/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                //Assert
+                .andDo(result -> {
+                    String[] lines = result.getResponse().getContentAsString().split("\n");
+                    List<Car> carRepositoryAll = carRepository.findAll();
+                    assertEquals(carRepositoryAll.size(), lines.length);
+                    CarDtoResponse first = objectMapper.readValue(lines[0], CarDtoResponse.class);
+                    assertNotNull(first.getId());
+                });
+    }
+
     @Test
     void testGetAllCars_shouldReturnInternalServerError() throws Exception {
         //Arrange
-        Car save = carRepository.save(badInitializeCar());
+        Long badCarId = saveBadCar();
         //Act
         mockMvc.perform(get("/car")
                         .accept(MediaType.APPLICATION_JSON)
@@ -104,7 +152,7 @@ class CarControllerTest {
                     ErrorDetails response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
                     });
                    assertEquals("Resource conversion error", response.getMessage());
-                   carRepository.deleteById(save.getId());
+                   deleteBadCar(badCarId);
                 });
     }
 
@@ -125,6 +173,68 @@ class CarControllerTest {
                 });
     }
 
+    @Test
+    void testGetCarById_shouldReturnNotModifiedForMatchingETag() throws Exception {
+        //Arrange
+        Car car = carRepository.findAll().get(0);
+        String eTag = mockMvc.perform(get("/car/" + car.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        //Act
+        mockMvc.perform(get("/car/" + car.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", eTag))
+                //Assert
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        car.setUpdatedAt(car.getUpdatedAt() + 60);
+        carRepository.save(car);
+        mockMvc.perform(get("/car/" + car.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
+    @Test
+    void testGetCarById_shouldOnlyReturnRequestedFields() throws Exception {
+        //Arrange
+        Car car = carRepository.findAll().get(0);
+        //Act
+        mockMvc.perform(get("/car/" + car.getId() + "?fields=make,model,price,engine")
+                        .accept(MediaType.APPLICATION_JSON))
+                //Assert
+                .andExpect(status().isOk())
+                .andDo(result -> {
+                    JsonNode jsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+                    List<String> names = new ArrayList<>();
+                    jsonNode.fieldNames().forEachRemaining(names::add);
+                    assertEquals(List.of("id", "make", "model", "price", "engine"), names);
+                    assertEquals(car.getId(), jsonNode.get("id").asLong());
+                    assertEquals(car.getModel(), jsonNode.get("model").asText());
+                    assertEquals(car.getEngine().getHorsepower(), jsonNode.get("engine").get("horsepower").asInt());
+                });
+    }
+
+    @Test
+    void testFilter_shouldOnlyReturnRequestedFields() throws Exception {
+        mockMvc.perform(get("/car/filter?status=active&size=5&fields=make,year&includeTotal=false")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andDo(result -> {
+                    JsonNode content = objectMapper.readTree(result.getResponse().getContentAsString()).get("content");
+                    assertEquals(5, content.size());
+                    for (JsonNode car : content) {
+                        assertEquals(3, car.size());
+                        assertTrue(car.has("id") && car.has("make") && car.has("year"));
+                    }
+                });
+    }
+
     @Test
     void testGetCarById_shouldThrowResourceNotFoundException() throws Exception {
         //Arrange
@@ -168,9 +278,7 @@ class CarControllerTest {
     void testGetCarById_shouldThrowInternalServerError() throws Exception {
         //Arrange
         carRepository.deleteAll();
-        Car save = carRepository.save(badInitializeCar());
-        List<Car> carRepositoryAll = carRepository.findAll();
-        Long id = carRepositoryAll.get(0).getId();
+        Long id = saveBadCar();
         //Act
         mockMvc.perform(get("/car/" + id)
                 .accept(MediaType.APPLICATION_JSON)
@@ -181,7 +289,7 @@ class CarControllerTest {
                     ErrorDetails response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
                     assertNotNull(response.getError());
                     assertEquals("Resource conversion error", response.getMessage());
-                    carRepository.deleteById(save.getId());
+                    deleteBadCar(id);
                 });
     }
 
@@ -756,18 +864,18 @@ class CarControllerTest {
     @CsvSource({
             "'text', 'length', Invalid value provided for field 'dimensions'. Please ensure the value is correct and of the right type.",
             "null, 'length', 'dimensions' must not be empty",
-            "-1, 'length', 'dimensions' must not be empty",
+            "-1, 'length', 'dimensions.length' must be greater than or equal to 0",
             "0, 'length', 'dimensions' must not be empty",
             "null, 'width', 'dimensions' must not be empty",
-            "-1, 'width', 'dimensions' must not be empty",
+            "-1, 'width', 'dimensions.width' must be greater than or equal to 0",
             "0, 'width', 'dimensions' must not be empty",
             "'text', 'width', Invalid value provided for field 'dimensions'. Please ensure the value is correct and of the right type.",
             "null, 'height', 'dimensions' must not be empty",
-            "-1, 'height', 'dimensions' must not be empty",
+            "-1, 'height', 'dimensions.height' must be greater than or equal to 0",
             "0, 'height', 'dimensions' must not be empty",
             "'text', 'height', Invalid value provided for field 'dimensions'. Please ensure the value is correct and of the right type.",
             "null, 'weight', 'dimensions' must not be empty",
-            "-1, 'weight', 'dimensions' must not be empty",
+            "-1, 'weight', 'dimensions.weight' must be greater than or equal to 0",
             "0, 'weight', 'dimensions' must not be empty",
             "'text', 'weight', Invalid value provided for field 'dimensions'. Please ensure the value is correct and of the right type."
     })
@@ -856,6 +964,182 @@ class CarControllerTest {
                 });
     }
 
+    @Test
+    void testSaveCars_shouldSaveValidCarsAndReportInvalidOnes() throws Exception{
+        //Arrange
+        Map<String, Object> invalidCar = carRequest();
+        invalidCar.put("year", 1900);
+        List<Object> request = List.of(getOneCarDto(), invalidCar, getOneCarDto());
+        int before = carRepository.findAll().size();
+        //Act
+        mockMvc.perform(post("/car/batch")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                //Assert
+                .andExpect(status().isOk())
+                .andDo(result -> {
+                    CarBatchResponse response = objectMapper.readValue(result.getResponse().getContentAsString(), CarBatchResponse.class);
+                    assertEquals(3, response.getReceived());
+                    assertEquals(2, response.getSaved());
+                    assertEquals(1, response.getFailed());
+                    assertEquals(1, response.getErrors().get(0).getIndex());
+                    assertEquals("'year' must be greater than or equal to 1950", response.getErrors().get(0).getMessage());
+                    assertTrue(response.getCars().stream().allMatch(car -> car.getId() != null));
+                    assertEquals(before + 2, carRepository.findAll().size());
+                });
+    }
+
+    @Test
+    void testSaveCars_shouldAcceptNdjson() throws Exception{
+        //Arrange
+        String request = objectMapper.writeValueAsString(getOneCarDto()) + "\n" + objectMapper.writeValueAsString(getOneCarDto()) + "\n";
+        //Act
+        mockMvc.perform(post("/car/batch")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(request))
+                //Assert
+                .andExpect(status().isOk())
+                .andDo(result -> {
+                    CarBatchResponse response = objectMapper.readValue(result.getResponse().getContentAsString(), CarBatchResponse.class);
+                    assertEquals(2, response.getSaved());
+                    assertTrue(response.getErrors().isEmpty());
+                });
+    }
+
+    @Test
+    void testSaveCars_shouldThrowBadRequest_malformedNdjsonLine() throws Exception{
+        //Arrange
+        String request = objectMapper.writeValueAsString(getOneCarDto()) + "\n{\"make\": }\n";
+        //Act
+        mockMvc.perform(post("/car/batch")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(request))
+                //Assert
+                .andExpect(status().isBadRequest())
+                .andDo(result -> {
+                    ErrorDetails response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+                    assertEquals("line 2 is not a valid car", response.getDetails());
+                });
+    }
+
+    @Test
+    void testSearchCars_shouldFindCarSavedThroughApi() throws Exception{
+        //Arrange
+        CarDtoRequest carDtoRequest = getOneCarDto();
+        carDtoRequest.setModel("Zephyrion");
+        mockMvc.perform(post("/car")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(carDtoRequest)))
+                .andExpect(status().isCreated());
+        //Act
+        mockMvc.perform(get("/car/search")
+                .param("q", "zephyr")
+                .accept(MediaType.APPLICATION_JSON))
+                //Assert
+                .andExpect(status().isOk())
+                .andDo(result -> {
+                    List<CarDtoResponse> cars = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+                    assertEquals(1, cars.size());
+                    assertEquals("Zephyrion", cars.get(0).getModel());
+                    assertEquals(carDtoRequest.getMake(), cars.get(0).getMake());
+                });
+    }
+
+    @Test
+    void testSearchCars_shouldThrowBadRequest_emptyQuery() throws Exception{
+        mockMvc.perform(get("/car/search")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andDo(result -> {
+                    ErrorDetails response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+                    assertEquals("'q' must not be empty", response.getDetails());
+                });
+    }
+
+    @Test
+    void testGetCarStats_shouldCountSavedCarWithoutReconciling() throws Exception{
+        //Arrange
+        carStatsIndex.reconcile();
+        long before = carStatsCount("status");
+        assertEquals(carRepository.count(), before);
+        //Act
+        mockMvc.perform(post("/car")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(getOneCarDto())))
+                .andExpect(status().isCreated());
+        //Assert
+        assertEquals(before + 1, carStatsCount("status"));
+        mockMvc.perform(get("/car/stats")
+                .param("groupBy", "make,year")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groupBy[0]").value("make"))
+                .andExpect(jsonPath("$.groups[0].make").exists())
+                .andExpect(jsonPath("$.groups[0].status").doesNotExist());
+    }
+
+    @Test
+    void testUpdateCarStatuses_shouldArchiveFilteredCarsAndReturnCounts() throws Exception{
+        //Arrange
+        String model = "Bulk" + System.nanoTime();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            CarDtoRequest carDtoRequest = getOneCarDto();
+            carDtoRequest.setModel(model);
+            String saved = mockMvc.perform(post("/car")
+                            .accept(MediaType.APPLICATION_JSON)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(carDtoRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(objectMapper.readValue(saved, CarDtoResponse.class).getId());
+        }
+        String body = objectMapper.writeValueAsString(CarBulkStatusRequest.builder().status("archive").build());
+        //Act
+        mockMvc.perform(put("/car/status")
+                        .param("model", model)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.updated").value(2));
+        //Assert
+        ids.forEach(id -> assertEquals(CarStatus.ARCHIVE.getValue(), carRepository.findById(id).orElseThrow().getStatus()));
+        // already archived, so nothing is written again
+        mockMvc.perform(put("/car/status")
+                        .param("model", model)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.updated").value(0));
+        ids.forEach(carRepository::deleteById);
+    }
+
+    @Test
+    void testUpdateCarStatuses_shouldThrowBadRequest_noFilterOrIds() throws Exception{
+        mockMvc.perform(put("/car/status")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"archive\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetCarStats_shouldThrowBadRequest_unknownDimension() throws Exception{
+        mockMvc.perform(get("/car/stats")
+                .param("groupBy", "color")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testUpdateCar_shouldUpdateCar_returnUpdatedCarDto() throws Exception{
         //Arrange
@@ -1426,43 +1710,62 @@ class CarControllerTest {
                 });
     }
 
-    private String convertFeaturesToJson() throws JsonProcessingException {
-        List<String> features = List.of("Feature1", "Feature2", "Feature3");
-        return objectMapper.writeValueAsString(features);
-    }
-
-    private String convertEngineToJson() throws JsonProcessingException {
-        Engine engineType = Engine.builder()
-                .type("EngineType")
-                .horsepower(200)
-                .torque(300)
-                .build();
-        return objectMapper.writeValueAsString(engineType);
-    }
-
-    private String convertWarrantyToJson() throws JsonProcessingException {
-        Warranty warranty = Warranty.builder()
-                .basic("Basic")
-                .powertrain("Powertrain")
-                .build();
-        return objectMapper.writeValueAsString(warranty);
+    @Test
+    void testFilterWithoutTotal_shouldReturnSlice() throws Exception{
+        mockMvc.perform(get("/car/filter?model=&status=active&page=0&size=5&sortBy=id&sortDirection=ASC&includeTotal=false")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andDo(result -> {
+                    JsonNode jsonNode = objectMapper.readTree(result.getResponse().getContentAsString());
+                    assertNull(jsonNode.get("totalElements"));
+                    assertEquals(0, jsonNode.get("page").asInt());
+                    assertEquals(5, jsonNode.get("content").size());
+                    assertTrue(jsonNode.get("hasNext").asBoolean());
+                });
     }
 
-    private String convertMaintenanceDatesToJson() throws JsonProcessingException {
-        List<LocalDate> maintenanceDates = List.of(LocalDate.now(), LocalDate.now().plusDays(1), LocalDate.now().plusDays(2));
-        return objectMapper.writeValueAsString(maintenanceDates);
+    @Test
+    void testCursorFilter_shouldWalkPagesWithoutOverlap() throws Exception{
+        //Arrange
+        String firstPage = mockMvc.perform(get("/car/filter?model=&status=active&size=5&sortBy=id&sortDirection=ASC&cursor=")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        CarCursorPageResponse first = objectMapper.readValue(firstPage, CarCursorPageResponse.class);
+        assertTrue(first.isHasNext());
+        //Act
+        String secondPage = mockMvc.perform(get("/car/filter?model=&status=active&size=5&sortBy=id&sortDirection=ASC&cursor=" + first.getNextCursor())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        CarCursorPageResponse second = objectMapper.readValue(secondPage, CarCursorPageResponse.class);
+        //Assert
+        Long lastOfFirst = first.getContent().get(first.getContent().size() - 1).getId();
+        assertEquals(5, first.getSize());
+        assertFalse(second.getContent().isEmpty());
+        assertTrue(second.getContent().stream().allMatch(car -> car.getId() > lastOfFirst));
     }
 
-    private String convertDimensionsToJson() throws JsonProcessingException {
-        Dimensions dimensions = Dimensions.builder()
-                .length(100)
-                .width(50)
-                .height(30)
-                .build();
-        return objectMapper.writeValueAsString(dimensions);
+    @Test
+    void testFilter_shouldApplyRangeAndMultiValueFilters() throws Exception{
+        mockMvc.perform(get("/car/filter?status=active,sold&minPrice=20000&maxPrice=60000&minYear=2000&maxYear=2020&size=50&sortBy=price&sortDirection=ASC")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andDo(result -> {
+                    JsonNode content = objectMapper.readTree(result.getResponse().getContentAsString()).get("content");
+                    double previousPrice = 0;
+                    for (JsonNode car : content) {
+                        double price = car.get("price").asDouble();
+                        assertTrue(price >= 20000 && price <= 60000);
+                        assertTrue(price >= previousPrice);
+                        assertTrue(car.get("year").asInt() >= 2000 && car.get("year").asInt() <= 2020);
+                        assertTrue(List.of("active", "sold").contains(car.get("status").asText().toLowerCase(Locale.ROOT)));
+                        previousPrice = price;
+                    }
+                });
     }
 
-    private Car intitalizeCar() throws JsonProcessingException {
+    private Car intitalizeCar() {
         int carMakeId = new Random().nextInt(10);
         CarMake carMake = carMakeRepository.findAll().get(carMakeId);
         return Car.builder()
@@ -1472,19 +1775,30 @@ class CarControllerTest {
                 .year(2021)
                 .price(10000)
                 .isElectric(true)
-                .features(convertFeaturesToJson())
-                .engine(convertEngineToJson())
+                .features(List.of("Feature1", "Feature2", "Feature3"))
+                .engine(Engine.builder()
+                        .type("EngineType")
+                        .horsepower(200)
+                        .torque(300)
+                        .build())
                 .previousOwner(1)
-                .warranty(convertWarrantyToJson())
-                .maintenanceDates(convertMaintenanceDatesToJson())
-                .dimensions(convertDimensionsToJson())
+                .warranty(Warranty.builder()
+                        .basic("Basic")
+                        .powertrain("Powertrain")
+                        .build())
+                .maintenanceDates(List.of(LocalDate.now(), LocalDate.now().plusDays(1), LocalDate.now().plusDays(2)))
+                .dimensions(Dimensions.builder()
+                        .length(100)
+                        .width(50)
+                        .height(30)
+                        .build())
                 .createdAt(ZonedDateTime.now().toEpochSecond())
                 .updatedAt(ZonedDateTime.now().toEpochSecond())
                 .status(CarStatus.ACTIVE.getValue())
                 .build();
     }
 
-    private void initCarData() throws JsonProcessingException {
+    private void initCarData() {
         int count = 0;
         List<CarMake> carMakes = carMakeRepository.findAll();
         for (int i = 0; i < 10; i++) {
@@ -1498,27 +1812,31 @@ class CarControllerTest {
         }
     }
 
-    private Car badInitializeCar(){
+    private Long saveBadCar(){
+        // the JSON columns are typed on the entity, so malformed rows can only be written with plain SQL
         List<CarMake> carMakes = carMakeRepository.findAll();
         int carMakeId = new Random().nextInt(carMakes.size()-1);
         CarMake carMake = carMakes.get(carMakeId);
-        return Car.builder()
-                .id(1L)
-                .carMake(carMake)
-                .model("Model")
-                .year(2021)
-                .price(10000)
-                .isElectric(true)
-                .features("Feature1,Feature2,Feature3")
-                .engine("EngineType")
-                .previousOwner(1)
-                .warranty("Basic,Powertrain")
-                .maintenanceDates("2021-08-01,2021-08-02,2021-08-03")
-                .dimensions("100,50,30")
-                .createdAt(ZonedDateTime.now().toEpochSecond())
-                .updatedAt(ZonedDateTime.now().toEpochSecond())
-                .status(CarStatus.ACTIVE.getValue())
-                .build();
+        long now = ZonedDateTime.now().toEpochSecond();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO car (make_id, model, year, price, is_electric, features, engine_specs, previous_owner, " +
+                            "warranty, maintenance_dates, dimensions, created_at, updated_at, status) " +
+                            "VALUES (?, 'Model', 2021, 10000, 1, 'Feature1,Feature2,Feature3', 'EngineType', 1, " +
+                            "'Basic,Powertrain', '2021-08-01,2021-08-02,2021-08-03', '100,50,30', ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, carMake.getId());
+            statement.setLong(2, now);
+            statement.setLong(3, now);
+            statement.setString(4, CarStatus.ACTIVE.getValue());
+            return statement;
+        }, keyHolder);
+        return Objects.requireNonNull(keyHolder.getKey()).longValue();
+    }
+
+    private void deleteBadCar(Long id){
+        jdbcTemplate.update("DELETE FROM car WHERE id = ?", id);
     }
 
     private CarDtoRequest getOneCarDto(){
@@ -1573,6 +1891,15 @@ class CarControllerTest {
         return List.of(LocalDate.now(), LocalDate.of(2020,9,19));
     }
 
+    private long carStatsCount(String groupBy) throws Exception {
+        String response = mockMvc.perform(get("/car/stats")
+                        .param("groupBy", groupBy)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, CarStatsResponse.class).getCount();
+    }
+
     private Map<String, Object> carRequest(){
         Map<String, Object> engine = new HashMap<>();
         engine.put("type","type");
@@ -0,0 +1,87 @@
+package com.sonarcube.eighty.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sonarcube.eighty.dto.CarImportJobResponse;
+import com.sonarcube.eighty.dto.CarImportStatus;
+import com.sonarcube.eighty.model.Car;
+import com.sonarcube.eighty.repository.CarRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CarImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testImport_shouldImportCarDataFileInTheBackground() throws Exception {
+        //Arrange
+        // carData.txt has no weight, which every saved car needs
+        String carData = Files.readString(Path.of("carData.txt"))
+                .replace("\"Camry\"", "\"ImportedCamry\"")
+                .replace("\"height\": 56.9", "\"height\": 56.9, \"weight\": 3310");
+        String body = "[" + carData + ", {\"car\": {\"make\": \"Toyota\"}}]";
+        //Act
+        String started = mockMvc.perform(post("/car/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readValue(started, CarImportJobResponse.class).getId();
+        CarImportJobResponse job = awaitJob(id);
+        //Assert
+        assertEquals(CarImportStatus.COMPLETED, job.getStatus());
+        assertEquals(2, job.getReceived());
+        assertEquals(1, job.getSaved());
+        assertEquals(1, job.getFailed());
+        assertEquals(1, job.getErrors().get(0).getIndex());
+        List<Car> imported = carRepository.findAll().stream().filter(car -> car.getModel().equals("ImportedCamry")).toList();
+        assertEquals(1, imported.size());
+        assertEquals(203, imported.get(0).getEngine().getHorsepower());
+        imported.forEach(car -> carRepository.deleteById(car.getId()));
+    }
+
+    @Test
+    void testGetImportJob_shouldReturnNotFoundForUnknownJob() throws Exception {
+        mockMvc.perform(get("/car/import/unknown")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    private CarImportJobResponse awaitJob(String id) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String response = mockMvc.perform(get("/car/import/" + id)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            CarImportJobResponse job = objectMapper.readValue(response, CarImportJobResponse.class);
+            if (job.getStatus() == CarImportStatus.COMPLETED || job.getStatus() == CarImportStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        return fail("import job " + id + " did not finish");
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,34 @@ class CarMakeControllerTest {
                 });
     }
 
+    @Test
+    void testGetAllCarModels_shouldReturnNotModifiedUntilAMakeChanges() throws Exception {
+        //Arrange
+        String eTag = mockMvc.perform(get("/makes")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(eTag);
+        //Act
+        mockMvc.perform(get("/makes")
+                .accept(MediaType.APPLICATION_JSON)
+                .header("If-None-Match", eTag))
+                //Assert
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        CarMake carMake = carMakes.get(0);
+        Long updatedAt = carMake.getUpdatedAt();
+        carMake.setUpdatedAt(ZonedDateTime.now().toEpochSecond() + 60);
+        carMake = carMakeRepository.save(carMake);
+        mockMvc.perform(get("/makes")
+                .accept(MediaType.APPLICATION_JSON)
+                .header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+        carMake.setUpdatedAt(updatedAt);
+        carMakeRepository.save(carMake);
+    }
+
     @Test
     void testGetCarModelById_shouldReturnCarModelBasedOnId() throws Exception{
         //Arrange
@@ -134,8 +163,41 @@ class CarMakeControllerTest {
                    CarMakeResponse response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
                     assertNotNull(response);
                     assertEquals(request.get("name"), response.getName());
-                    carMake.setName(name);
-                    carMakeRepository.save(carMake);
+                    // the PUT bumped the version, so restore through a fresh copy
+                    CarMake renamed = carMakeRepository.findById(carMake.getId()).orElseThrow();
+                    renamed.setName(name);
+                    carMakeRepository.save(renamed);
+                });
+    }
+
+    @Test
+    void testUpdateCarModel_shouldNotServeStaleCachedCarMake() throws Exception{
+        //Arrange
+        CarMake carMake = carMakes.get(0);
+        String name = carMake.getName();
+        Map<String, Object> request = carModelRequest();
+        request.put("name", "Renamed Car Make");
+        mockMvc.perform(get("/makes/"+carMake.getId())
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        //Act
+        mockMvc.perform(put("/makes/"+carMake.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        //Assert
+        mockMvc.perform(get("/makes/"+carMake.getId())
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andDo(result -> {
+                    CarMakeResponse response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+                    assertEquals(request.get("name"), response.getName());
+                    assertTrue(carMakeRepository.findByName(name).isEmpty());
+                    // the PUT bumped the version, so restore through a fresh copy
+                    CarMake renamed = carMakeRepository.findById(carMake.getId()).orElseThrow();
+                    renamed.setName(name);
+                    carMakeRepository.save(renamed);
                 });
     }
 
@@ -0,0 +1,93 @@
+package com.sonarcube.eighty.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarFilterParamsTest {
+
+    @Test
+    void testBind_shouldReadEveryParameter() {
+        //Arrange
+        Map<String, String[]> request = Map.of(
+                "make", new String[]{"Honda", "Toyota"},
+                "model", new String[]{"Civic"},
+                "year", new String[]{"2021"},
+                "status", new String[]{"ACTIVE,sold"},
+                "page", new String[]{"2"},
+                "size", new String[]{"20"},
+                "sortBy", new String[]{"price"},
+                "sortDirection", new String[]{"desc"},
+                "minPrice", new String[]{"1000.50"},
+                "maxPreviousOwners", new String[]{"0"});
+        //Act
+        CarFilterParams params = CarFilterParams.bind(request::get);
+        //Assert
+        assertEquals(List.of("Honda", "Toyota"), params.getMakes());
+        assertEquals("Civic", params.getModel());
+        assertEquals(2021, params.getYear());
+        assertEquals(List.of("active", "sold"), params.getStatuses());
+        assertEquals(2, params.getPage());
+        assertEquals(20, params.getSize());
+        assertEquals("price", params.getSortBy());
+        assertEquals("desc", params.getSortDirection());
+        assertEquals(1000.50, params.getMinPrice());
+        assertEquals(0, params.getMaxPreviousOwners());
+    }
+
+    @Test
+    void testBind_shouldFallBackToDefaultsForMissingOrMalformedValues() {
+        //Arrange
+        Map<String, String[]> request = Map.of(
+                "year", new String[]{"twenty"},
+                "page", new String[]{"-"},
+                "size", new String[]{"99999999999"},
+                "sortBy", new String[]{"unknownField"},
+                "sortDirection", new String[]{"sideways"},
+                "minPrice", new String[]{"1e5"},
+                "maxPrice", new String[]{"."},
+                "isElectric", new String[]{"yes"},
+                "maxPreviousOwners", new String[]{"-1"});
+        //Act
+        CarFilterParams params = CarFilterParams.bind(request::get);
+        //Assert
+        assertEquals(0, params.getYear());
+        assertEquals(0, params.getPage());
+        assertEquals(10, params.getSize());
+        assertEquals("id", params.getSortBy());
+        assertEquals("ASC", params.getSortDirection());
+        assertNull(params.getMinPrice());
+        assertNull(params.getMaxPrice());
+        assertNull(params.getIsElectric());
+        assertNull(params.getMaxPreviousOwners());
+        assertNull(params.getStatus());
+        assertTrue(params.getMakes().isEmpty());
+    }
+
+    @Test
+    void testParseInt_shouldHandleSignsAndBounds() {
+        assertEquals(-42, CarFilterParams.parseInt("-42", 0));
+        assertEquals(7, CarFilterParams.parseInt("+7", 0));
+        assertEquals(Integer.MAX_VALUE, CarFilterParams.parseInt("2147483647", 0));
+        assertEquals(5, CarFilterParams.parseInt("2147483648", 5));
+        assertEquals(5, CarFilterParams.parseInt("12a", 5));
+    }
+
+    @Test
+    void testSetCarStatus_shouldDefaultUnknownStatusToActive() {
+        //Arrange
+        CarFilterParams params = new CarFilterParams();
+        //Act
+        params.setCarStatus("Sold");
+        String sold = params.getStatus();
+        params.setCarStatus("unknown");
+        //Assert
+        assertEquals("sold", sold);
+        assertEquals("active", params.getStatus());
+        assertEquals(CarStatus.ARCHIVE, CarStatus.find("ARCHIVE"));
+        assertNull(CarStatus.find("unknown"));
+    }
+}
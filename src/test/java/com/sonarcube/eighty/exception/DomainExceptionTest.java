@@ -0,0 +1,45 @@
+package com.sonarcube.eighty.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainExceptionTest {
+
+    @AfterEach
+    void tearDown() {
+        DomainException.setStackTraces(false);
+    }
+
+    @Test
+    void testDomainException_shouldSkipStackTraceByDefault() {
+        //Act
+        ResourceNotFoundException e = new ResourceNotFoundException("Car", "id", 1L);
+        //Assert
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals("Car not found with id : '1'", e.getMessage());
+    }
+
+    @Test
+    void testDomainException_shouldKeepStackTraceWhenEnabled() {
+        //Arrange
+        DomainException.setStackTraces(true);
+        //Act
+        ResourceAlreadyExistsException e = new ResourceAlreadyExistsException("Car make", "name", "Honda");
+        //Assert
+        assertTrue(e.getStackTrace().length > 0);
+        assertEquals("Car make already exists with name : 'Honda'", e.getMessage());
+    }
+
+    @Test
+    void testResourceConversionException_shouldAlwaysKeepStackTraceAndCause() {
+        //Arrange
+        IllegalStateException cause = new IllegalStateException("malformed");
+        //Act
+        ResourceConversionException e = new ResourceConversionException("Car", "CarDto", cause);
+        //Assert
+        assertTrue(e.getStackTrace().length > 0);
+        assertSame(cause, e.getCause());
+    }
+}
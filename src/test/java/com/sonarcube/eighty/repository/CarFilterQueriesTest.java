@@ -0,0 +1,123 @@
+package com.sonarcube.eighty.repository;
+
+import com.sonarcube.eighty.dto.CarFilterParams;
+import com.sonarcube.eighty.model.CarMake;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.sonarcube.eighty.repository.CarFilterQueries.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CarFilterQueriesTest {
+
+    private final CarFilterQueries carFilterQueries = new CarFilterQueries();
+
+    @Test
+    void testMask_shouldOnlyIncludePresentPredicates() {
+        //Arrange
+        CarMake honda = CarMake.builder().id(1L).name("Honda").build();
+        CarFilterParams all = CarFilterParams.builder().model("Civic").year(2020).status("active").build();
+        CarFilterParams none = CarFilterParams.builder().model(" ").build();
+        //Act
+        int allMask = CarFilterQueries.mask(List.of(honda), all);
+        int noneMask = CarFilterQueries.mask(List.of(), none);
+        //Assert
+        assertEquals(MAKE | MODEL | YEAR | STATUS, allMask);
+        assertEquals(0, noneMask);
+    }
+
+    @Test
+    void testPage_shouldReturnTheSameStringForTheSameShape() {
+        //Act
+        String first = carFilterQueries.page(MAKE | STATUS, "price", "desc");
+        String second = carFilterQueries.page(MAKE | STATUS, "price", "DESC");
+        //Assert
+        assertSame(first, second);
+        assertEquals("SELECT c FROM Car c JOIN FETCH c.carMake WHERE 1=1 AND c.carMake IN :carMakes AND c.status IN :statuses" +
+                " ORDER BY c.price DESC, c.id DESC", first);
+    }
+
+    @Test
+    void testStatusRows_shouldSeekByIdOverTheFilter() {
+        //Act
+        String first = carFilterQueries.statusRows(STATUS | MAX_YEAR);
+        //Assert
+        assertSame(first, carFilterQueries.statusRows(STATUS | MAX_YEAR));
+        assertEquals("SELECT c.id, c.year, c.price, c.isElectric, c.status, m.id, m.name FROM Car c JOIN c.carMake m" +
+                " WHERE 1=1 AND c.status IN :statuses AND c.year <= :maxYear AND c.id > :lastId ORDER BY c.id ASC", first);
+    }
+
+    @Test
+    void testPage_shouldFallBackToIdForColumnsOutsideTheWhitelist() {
+        //Act
+        String features = carFilterQueries.page(0, "features", "ASC");
+        String injected = carFilterQueries.page(0, "id; DROP TABLE car", "sideways");
+        String make = carFilterQueries.page(0, "make", "ASC");
+        //Assert
+        assertTrue(features.endsWith(" ORDER BY c.id ASC"));
+        assertTrue(injected.endsWith(" ORDER BY c.id ASC"));
+        assertTrue(make.endsWith(" ORDER BY c.carMake.name ASC, c.id ASC"));
+    }
+
+    @Test
+    void testKeyset_shouldAddSeekPredicateOnlyAfterACursor() {
+        //Act
+        String firstPage = carFilterQueries.keyset(YEAR, "year", "ASC", false);
+        String nextPage = carFilterQueries.keyset(YEAR, "year", "ASC", true);
+        String byId = carFilterQueries.keyset(0, "id", "DESC", true);
+        //Assert
+        assertFalse(firstPage.contains(":lastId"));
+        assertTrue(nextPage.contains("AND (c.year > :lastValue OR (c.year = :lastValue AND c.id > :lastId))"));
+        assertTrue(byId.endsWith("WHERE 1=1 AND c.id < :lastId ORDER BY c.id DESC"));
+    }
+
+    @Test
+    void testBind_shouldOnlyBindParametersInTheMask() {
+        //Arrange
+        @SuppressWarnings("unchecked")
+        TypedQuery<Long> query = mock(TypedQuery.class);
+        CarFilterParams params = CarFilterParams.builder().model("Civic").year(2020).status("active").build();
+        //Act
+        CarFilterQueries.bind(query, MODEL | YEAR, List.of(), params);
+        //Assert
+        verify(query).setParameter("model", "Civic");
+        verify(query).setParameter("year", 2020);
+        verify(query, never()).setParameter(eq("statuses"), any());
+        assertEquals("SELECT COUNT(c) FROM Car c WHERE 1=1 AND c.model LIKE CONCAT('%', :model, '%') AND c.year = :year",
+                carFilterQueries.count(MODEL | YEAR));
+    }
+
+    @Test
+    void testMask_shouldIncludeRangeAndMultiValuePredicates() {
+        //Arrange
+        CarFilterParams params = new CarFilterParams();
+        params.setStatus("active, sold,,active");
+        params.setMinPrice("10000");
+        params.setMaxPrice("not a price");
+        params.setMinYear("2015");
+        params.setMaxYear("");
+        params.setIsElectric("TRUE");
+        params.setMaxPreviousOwners("0");
+        //Act
+        int mask = CarFilterQueries.mask(List.of(), params);
+        //Assert
+        assertEquals(STATUS | MIN_PRICE | MIN_YEAR | ELECTRIC | MAX_OWNERS, mask);
+        assertEquals(List.of("active", "sold"), params.getStatuses());
+        assertEquals("SELECT COUNT(c) FROM Car c WHERE 1=1 AND c.status IN :statuses AND c.price >= :minPrice" +
+                " AND c.year >= :minYear AND c.isElectric = :isElectric AND c.previousOwner <= :maxPreviousOwners", carFilterQueries.count(mask));
+    }
+
+    @Test
+    void testPage_shouldBuildShapesOutsideTheStartupSetOnce() {
+        //Act
+        String first = carFilterQueries.page(MAKE | MAX_PRICE | MAX_YEAR, "year", "ASC");
+        String second = carFilterQueries.page(MAKE | MAX_PRICE | MAX_YEAR, "year", "ASC");
+        //Assert
+        assertSame(first, second);
+        assertEquals("SELECT c FROM Car c JOIN FETCH c.carMake WHERE 1=1 AND c.carMake IN :carMakes AND c.price <= :maxPrice" +
+                " AND c.year <= :maxYear ORDER BY c.year ASC, c.id ASC", first);
+    }
+}
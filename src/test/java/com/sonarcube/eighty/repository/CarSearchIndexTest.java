@@ -0,0 +1,154 @@
+package com.sonarcube.eighty.repository;
+
+import com.sonarcube.eighty.dto.Engine;
+import com.sonarcube.eighty.model.Car;
+import com.sonarcube.eighty.model.CarMake;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CarSearchIndexTest {
+
+    private CarSearchIndex carSearchIndex;
+    private CarMake honda;
+    private CarMake toyota;
+
+    @BeforeEach
+    void setUp() {
+        carSearchIndex = new CarSearchIndex(null, null);
+        honda = CarMake.builder().id(1L).name("Honda").build();
+        toyota = CarMake.builder().id(2L).name("Toyota").build();
+        carSearchIndex.index(car(1L, honda, "Civic Type R", List.of("Sunroof", "Heated Seats"), "Turbo"));
+        carSearchIndex.index(car(2L, honda, "Accord", List.of("Sunroof"), "Hybrid"));
+        carSearchIndex.index(car(3L, toyota, "Prius", List.of("Heated Seats"), "Hybrid"));
+    }
+
+    @Test
+    void testSearch_shouldMatchModelMakeFeaturesAndEngine() {
+        assertEquals(List.of(1L), carSearchIndex.search("civic", 10));
+        assertEquals(List.of(1L, 2L), carSearchIndex.search("HONDA", 10));
+        assertEquals(List.of(1L, 3L), carSearchIndex.search("heated seats", 10));
+        assertEquals(List.of(2L, 3L), carSearchIndex.search("hybrid", 10));
+    }
+
+    @Test
+    void testSearch_shouldRequireEveryTokenAndRankModelAboveFeatures() {
+        //Arrange
+        carSearchIndex.index(car(4L, toyota, "Sunroof Edition", List.of(), "Petrol"));
+        //Act
+        List<Long> sunroof = carSearchIndex.search("sunroof", 10);
+        List<Long> hondaSunroof = carSearchIndex.search("honda sunroof", 10);
+        //Assert
+        assertEquals(4L, sunroof.get(0));
+        assertEquals(List.of(1L, 2L), hondaSunroof);
+    }
+
+    @Test
+    void testSearch_shouldMatchPrefixesBelowExactTokens() {
+        //Arrange
+        carSearchIndex.index(car(5L, toyota, "Civ", List.of(), "Petrol"));
+        //Act
+        List<Long> ids = carSearchIndex.search("civ", 10);
+        //Assert
+        assertEquals(List.of(5L, 1L), ids);
+    }
+
+    @Test
+    void testSearch_shouldApplyLimitAndIgnoreBlankQueries() {
+        assertEquals(1, carSearchIndex.search("honda", 1).size());
+        assertTrue(carSearchIndex.search("  ", 10).isEmpty());
+        assertTrue(carSearchIndex.search("ferrari", 10).isEmpty());
+    }
+
+    @Test
+    void testIndex_shouldReplaceTermsOfUpdatedCar() {
+        //Act
+        carSearchIndex.index(car(2L, honda, "Pilot", List.of(), "Petrol"));
+        //Assert
+        assertTrue(carSearchIndex.search("accord", 10).isEmpty());
+        assertEquals(List.of(2L), carSearchIndex.search("pilot", 10));
+        assertEquals(3, carSearchIndex.size());
+    }
+
+    @Test
+    void testDelete_shouldRemoveCarFromEveryTerm() {
+        //Act
+        carSearchIndex.delete(1L);
+        //Assert
+        assertTrue(carSearchIndex.search("civic", 10).isEmpty());
+        assertEquals(List.of(2L), carSearchIndex.search("honda", 10));
+        assertEquals(2, carSearchIndex.size());
+    }
+
+    @Test
+    void testRenameMake_shouldReindexCarsOfThatMake() {
+        //Act
+        carSearchIndex.renameMake(1L, "Acura");
+        //Assert
+        assertTrue(carSearchIndex.search("honda", 10).isEmpty());
+        assertEquals(List.of(1L, 2L), carSearchIndex.search("acura", 10));
+        assertEquals(List.of(3L), carSearchIndex.search("toyota", 10));
+    }
+
+    @Test
+    void testIndex_shouldWaitForCommitAndDropRolledBackWrites() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //Act
+            carSearchIndex.index(car(6L, toyota, "Corolla", List.of(), "Petrol"));
+            carSearchIndex.delete(1L);
+            //Assert
+            assertTrue(carSearchIndex.search("corolla", 10).isEmpty());
+            assertEquals(List.of(1L), carSearchIndex.search("civic", 10));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            synchronizations.get(1).afterCommit();
+            assertTrue(carSearchIndex.search("corolla", 10).isEmpty());
+            assertTrue(carSearchIndex.search("civic", 10).isEmpty());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRebuild_shouldReplayWritesMadeWhileStreaming() {
+        //Arrange
+        CarRepository carRepository = mock(CarRepository.class);
+        CarSearchIndex rebuiltIndex = new CarSearchIndex(carRepository, mock(EntityManager.class));
+        rebuiltIndex.index(car(9L, toyota, "Supra", List.of(), "Petrol"));
+        when(carRepository.streamAll()).thenReturn(Stream.of(
+                        car(1L, honda, "Civic Type R", List.of(), "Turbo"),
+                        car(3L, toyota, "Prius", List.of(), "Hybrid"))
+                .peek(car -> {
+                    if (car.getId() == 1L) {
+                        rebuiltIndex.delete(3L);
+                    }
+                }));
+        //Act
+        rebuiltIndex.rebuild();
+        //Assert
+        assertEquals(List.of(1L), rebuiltIndex.search("civic", 10));
+        assertTrue(rebuiltIndex.search("prius", 10).isEmpty());
+        assertTrue(rebuiltIndex.search("supra", 10).isEmpty());
+        assertEquals(1, rebuiltIndex.size());
+    }
+
+    private Car car(Long id, CarMake carMake, String model, List<String> features, String engineType) {
+        return Car.builder()
+                .id(id)
+                .carMake(carMake)
+                .model(model)
+                .features(features)
+                .engine(Engine.builder().type(engineType).build())
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.sonarcube.eighty.repository;
+
+import com.sonarcube.eighty.dto.CarStatsDimension;
+import com.sonarcube.eighty.dto.CarStatsGroup;
+import com.sonarcube.eighty.model.Car;
+import com.sonarcube.eighty.model.CarMake;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CarStatsIndexTest {
+
+    private CarStatsIndex carStatsIndex;
+    private CarMake honda;
+    private CarMake toyota;
+
+    @BeforeEach
+    void setUp() {
+        carStatsIndex = new CarStatsIndex(null);
+        honda = CarMake.builder().id(1L).name("Honda").build();
+        toyota = CarMake.builder().id(2L).name("Toyota").build();
+        carStatsIndex.add(car(honda, 2020, "active", false, 20000));
+        carStatsIndex.add(car(honda, 2021, "active", true, 40000));
+        carStatsIndex.addAll(List.of(car(toyota, 2021, "sold", true, 30000)));
+    }
+
+    @Test
+    void testGroupBy_shouldRollUpCountsPricesAndElectricShare() {
+        //Act
+        List<CarStatsGroup> byMake = carStatsIndex.groupBy(EnumSet.of(CarStatsDimension.MAKE));
+        //Assert
+        assertEquals(2, byMake.size());
+        CarStatsGroup hondaGroup = byMake.get(0);
+        assertEquals("Honda", hondaGroup.getMake());
+        assertNull(hondaGroup.getYear());
+        assertEquals(2, hondaGroup.getCount());
+        assertEquals(30000, hondaGroup.getAveragePrice());
+        assertEquals(0.5, hondaGroup.getElectricShare());
+        assertEquals("Toyota", byMake.get(1).getMake());
+    }
+
+    @Test
+    void testGroupBy_shouldGroupOnSeveralDimensions() {
+        //Act
+        List<CarStatsGroup> groups = carStatsIndex.groupBy(EnumSet.of(CarStatsDimension.YEAR, CarStatsDimension.ELECTRIC));
+        //Assert
+        assertEquals(2, groups.size());
+        assertEquals(2020, groups.get(0).getYear());
+        assertEquals(false, groups.get(0).getElectric());
+        assertEquals(2021, groups.get(1).getYear());
+        assertEquals(true, groups.get(1).getElectric());
+        assertEquals(2, groups.get(1).getCount());
+        assertNull(groups.get(1).getMake());
+    }
+
+    @Test
+    void testReplaceAndRemove_shouldMoveAndDropCars() {
+        //Arrange
+        Car sold = car(honda, 2020, "active", false, 20000);
+        carStatsIndex.add(sold);
+        CarStatsIndex.Fact before = CarStatsIndex.fact(sold);
+        sold.setStatus("sold");
+        //Act
+        carStatsIndex.replace(before, sold);
+        carStatsIndex.remove(car(toyota, 2021, "sold", true, 30000));
+        List<CarStatsGroup> byStatus = carStatsIndex.groupBy(EnumSet.of(CarStatsDimension.STATUS));
+        //Assert
+        assertEquals(2, byStatus.size());
+        assertEquals("active", byStatus.get(0).getStatus());
+        assertEquals(2, byStatus.get(0).getCount());
+        assertEquals("sold", byStatus.get(1).getStatus());
+        assertEquals(1, byStatus.get(1).getCount());
+        assertEquals(0, byStatus.get(1).getElectricShare());
+    }
+
+    @Test
+    void testRenameMake_shouldRenameExistingGroups() {
+        //Act
+        carStatsIndex.renameMake(1L, "Acura");
+        //Assert
+        assertEquals("Acura", carStatsIndex.groupBy(EnumSet.of(CarStatsDimension.MAKE)).get(0).getMake());
+    }
+
+    @Test
+    void testAdd_shouldWaitForCommitAndDropRolledBackWrites() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //Act
+            carStatsIndex.add(car(toyota, 2022, "active", false, 10000));
+            carStatsIndex.remove(car(toyota, 2021, "sold", true, 30000));
+            //Assert
+            assertEquals(3, carStatsIndex.groupBy(EnumSet.noneOf(CarStatsDimension.class)).get(0).getCount());
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            synchronizations.get(1).afterCommit();
+            assertEquals(2, carStatsIndex.groupBy(EnumSet.noneOf(CarStatsDimension.class)).get(0).getCount());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testReconcile_shouldReplayWritesMadeWhileQuerying() {
+        //Arrange
+        EntityManager entityManager = mock(EntityManager.class);
+        @SuppressWarnings("unchecked")
+        TypedQuery<Object[]> query = mock(TypedQuery.class);
+        CarStatsIndex reconciledIndex = new CarStatsIndex(entityManager);
+        when(entityManager.createQuery(CarStatsIndex.GROUP_BY_CELL, Object[].class)).thenReturn(query);
+        when(query.getResultList()).thenAnswer(invocation -> {
+            reconciledIndex.add(car(toyota, 2022, "active", false, 10000));
+            return List.<Object[]>of(new Object[]{1L, "Honda", 2020, "active", false, 2L, 50000.0});
+        });
+        //Act
+        reconciledIndex.reconcile();
+        List<CarStatsGroup> byMake = reconciledIndex.groupBy(EnumSet.of(CarStatsDimension.MAKE));
+        //Assert
+        assertEquals(2, byMake.size());
+        assertEquals("Honda", byMake.get(0).getMake());
+        assertEquals(2, byMake.get(0).getCount());
+        assertEquals("Toyota", byMake.get(1).getMake());
+        assertEquals(1, byMake.get(1).getCount());
+    }
+
+    private Car car(CarMake carMake, int year, String status, boolean electric, double price) {
+        return Car.builder()
+                .carMake(carMake)
+                .year(year)
+                .status(status)
+                .isElectric(electric)
+                .price(price)
+                .build();
+    }
+}
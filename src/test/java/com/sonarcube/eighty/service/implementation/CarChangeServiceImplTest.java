@@ -0,0 +1,145 @@
+package com.sonarcube.eighty.service.implementation;
+
+import com.sonarcube.eighty.dto.CarChangeEntity;
+import com.sonarcube.eighty.dto.CarChangeType;
+import com.sonarcube.eighty.dto.CarChangesResponse;
+import com.sonarcube.eighty.model.CarChange;
+import com.sonarcube.eighty.repository.CarChangeRepository;
+import com.sonarcube.eighty.repository.CarOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CarChangeServiceImplTest {
+
+    private CarChangeServiceImpl carChangeService;
+
+    @Mock
+    private CarChangeRepository carChangeRepository;
+
+    @Mock
+    private CarOutboxRepository carOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() throws Exception{
+        MockitoAnnotations.openMocks(this).close();
+        carChangeService = new CarChangeServiceImpl(carChangeRepository, carOutboxRepository, transactionManager,
+                2, Duration.ofSeconds(5), Duration.ofDays(7));
+    }
+
+    @Test
+    void testGetChanges_shouldReturnPageAndWhereToResume() throws Exception{
+        //Arrange
+        when(carChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(10L), any(Limit.class)))
+                .thenReturn(List.of(change(11), change(12), change(13)));
+        //Act
+        CarChangesResponse response = carChangeService.getChanges(10, 2, Duration.ZERO).get();
+        //Assert
+        assertEquals(List.of(11L, 12L), response.getChanges().stream().map(change -> change.getSequence()).toList());
+        assertEquals(12, response.getNextSince());
+        assertTrue(response.isHasMore());
+        assertEquals(CarChangeEntity.CAR, response.getChanges().get(0).getEntity());
+        assertEquals(100L, response.getChanges().get(0).getId());
+        verify(carChangeRepository).findBySequenceGreaterThanOrderBySequenceAsc(10L, Limit.of(3));
+    }
+
+    @Test
+    void testGetChanges_shouldReadFromPrimary() throws Exception{
+        //Arrange
+        when(carChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(10L), any(Limit.class))).thenReturn(List.of());
+        //Act
+        carChangeService.getChanges(10, 2, Duration.ZERO).get();
+        //Assert
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+    }
+
+    @Test
+    void testGetChanges_shouldHoldPollUntilRelayed() throws Exception{
+        //Arrange
+        when(carChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(12L), any(Limit.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(change(13)));
+        when(carOutboxRepository.findBatchEnd(2)).thenReturn(40L);
+        when(carChangeRepository.lockNextSequence()).thenReturn(13L);
+        when(carOutboxRepository.relayUpTo(13L, 40L)).thenReturn(1);
+        //Act
+        CompletableFuture<CarChangesResponse> poll = carChangeService.getChanges(12, 100, Duration.ofSeconds(5));
+        assertFalse(poll.isDone());
+        carChangeService.relay();
+        //Assert
+        CarChangesResponse response = poll.get(1, TimeUnit.SECONDS);
+        assertEquals(13, response.getNextSince());
+        assertEquals(1, response.getChanges().size());
+        verify(carOutboxRepository).deleteUpTo(40L);
+        verify(carChangeRepository).updateNextSequence(14L);
+    }
+
+    @Test
+    void testGetChanges_shouldAnswerEmptyWhenNothingChangesInTime() throws Exception{
+        //Arrange
+        when(carChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(12L), any(Limit.class))).thenReturn(List.of());
+        //Act
+        CarChangesResponse response = carChangeService.getChanges(12, 100, Duration.ofMillis(50)).get(1, TimeUnit.SECONDS);
+        //Assert
+        assertTrue(response.getChanges().isEmpty());
+        assertEquals(12, response.getNextSince());
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void testRelay_shouldNotLockWhenOutboxIsEmpty(){
+        //Arrange
+        when(carOutboxRepository.findBatchEnd(anyInt())).thenReturn(null);
+        //Act
+        carChangeService.relay();
+        //Assert
+        verify(carChangeRepository, never()).lockNextSequence();
+        verify(carOutboxRepository, never()).relayUpTo(anyLong(), anyLong());
+        // nobody is waiting, so the log is not read either
+        verify(carChangeRepository, never()).findLastSequence();
+    }
+
+    @Test
+    void testRelay_shouldKeepDrainingWhileBatchesAreFull(){
+        //Arrange
+        when(carOutboxRepository.findBatchEnd(2)).thenReturn(2L, 2L, 4L, 4L, 5L, 5L);
+        when(carChangeRepository.lockNextSequence()).thenReturn(1L, 3L, 5L);
+        when(carOutboxRepository.relayUpTo(anyLong(), anyLong())).thenReturn(2, 2, 1);
+        //Act
+        carChangeService.relay();
+        //Assert
+        verify(carOutboxRepository).relayUpTo(1L, 2L);
+        verify(carOutboxRepository).relayUpTo(3L, 4L);
+        verify(carOutboxRepository).relayUpTo(5L, 5L);
+        verify(carChangeRepository).updateNextSequence(6L);
+    }
+
+    private static CarChange change(long sequence) {
+        return CarChange.builder()
+                .sequence(sequence)
+                .entity(CarChangeEntity.CAR)
+                .entityId(100L)
+                .type(CarChangeType.UPDATED)
+                .createdAt(ZonedDateTime.now().toEpochSecond())
+                .build();
+    }
+}
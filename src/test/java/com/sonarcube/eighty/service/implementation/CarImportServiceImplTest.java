@@ -0,0 +1,139 @@
+package com.sonarcube.eighty.service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sonarcube.eighty.dto.CarBatchError;
+import com.sonarcube.eighty.dto.CarBatchResponse;
+import com.sonarcube.eighty.dto.CarDtoRequest;
+import com.sonarcube.eighty.dto.CarImportJobResponse;
+import com.sonarcube.eighty.dto.CarImportStatus;
+import com.sonarcube.eighty.exception.ResourceNotFoundException;
+import com.sonarcube.eighty.exception.TooManyRequestsException;
+import com.sonarcube.eighty.service.CarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class CarImportServiceImplTest {
+
+    private CarImportServiceImpl carImportService;
+
+    @Mock
+    private CarService carService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setup() throws Exception{
+        MockitoAnnotations.openMocks(this).close();
+        carImportService = new CarImportServiceImpl(carService, objectMapper, new SyncTaskExecutor(), 2, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testStartImport_shouldSaveCarDataStyleCarsInChunks() {
+        //Arrange
+        when(carService.saveCars(anyList())).thenAnswer(invocation -> saved(invocation.getArgument(0, List.class).size()));
+        String body = "[" + carData("Camry") + "," + carData("Corolla") + "," + carData("Prius") + "]";
+        //Act
+        CarImportJobResponse started = carImportService.startImport(stream(body));
+        CarImportJobResponse job = carImportService.getImportJob(started.getId());
+        //Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CarDtoRequest>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(carService, times(2)).saveCars(chunks.capture());
+        CarDtoRequest camry = chunks.getAllValues().get(0).get(0);
+        assertEquals("Camry", camry.getModel());
+        assertEquals(203, camry.getEngine().getHorsepower());
+        assertEquals(1, camry.getPreviousOwner());
+        assertTrue(camry.isElectric());
+        assertEquals(CarImportStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getReceived());
+        assertEquals(3, job.getSaved());
+        assertEquals(0, job.getFailed());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void testStartImport_shouldReportRejectedCarsByPositionInFile() {
+        //Arrange
+        when(carService.saveCars(anyList()))
+                .thenReturn(saved(2))
+                .thenReturn(CarBatchResponse.builder().received(1).saved(0).failed(1)
+                        .errors(List.of(new CarBatchError(0, "'year' must be less than or equal to 2024"))).build());
+        String body = carData("Camry") + "\n" + "{\"car\": {\"model\": [1]}}" + "\n" + carData("Corolla") + "\n" + carData("Prius");
+        //Act
+        CarImportJobResponse job = carImportService.getImportJob(carImportService.startImport(stream(body)).getId());
+        //Assert
+        assertEquals(CarImportStatus.COMPLETED, job.getStatus());
+        assertEquals(4, job.getReceived());
+        assertEquals(2, job.getSaved());
+        assertEquals(2, job.getFailed());
+        assertEquals(1, job.getErrors().get(0).getIndex());
+        assertEquals(3, job.getErrors().get(1).getIndex());
+        assertEquals("'year' must be less than or equal to 2024", job.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    void testStartImport_shouldFailJobOnMalformedJsonAndKeepSavedChunks() {
+        //Arrange
+        when(carService.saveCars(anyList())).thenReturn(saved(2));
+        String body = "[" + carData("Camry") + "," + carData("Corolla") + ", {\"car\": ";
+        //Act
+        CarImportJobResponse job = carImportService.getImportJob(carImportService.startImport(stream(body)).getId());
+        //Assert
+        assertEquals(CarImportStatus.FAILED, job.getStatus());
+        assertEquals(2, job.getSaved());
+        assertEquals("car 3 is not valid JSON", job.getMessage());
+    }
+
+    @Test
+    void testStartImport_shouldRefuseWhenWorkersAreBusy() {
+        //Arrange
+        carImportService = new CarImportServiceImpl(carService, objectMapper, task -> {
+            throw new TaskRejectedException("queue full");
+        }, 2, Duration.ofMinutes(1));
+        //Act
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class, () -> carImportService.startImport(stream("[]")));
+        //Assert
+        assertEquals("Too many imports are running, retry later", e.getMessage());
+        verify(carService, never()).saveCars(anyList());
+    }
+
+    @Test
+    void testGetImportJob_shouldThrowForUnknownJob() {
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class, () -> carImportService.getImportJob("missing"));
+        assertEquals("Import job not found with id : 'missing'", e.getMessage());
+    }
+
+    private static CarBatchResponse saved(int count) {
+        return CarBatchResponse.builder().received(count).saved(count).failed(0).errors(List.of()).build();
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String carData(String model) {
+        return """
+                {"car": {"make": "Toyota", "model": "%s", "year": 2021, "price": 24425.50, "isElectric": true,
+                  "features": ["Bluetooth", "Backup Camera"],
+                  "engineSpecs": {"type": "Gasoline", "horsepower": 203, "torque": 184},
+                  "previousOwners": 1,
+                  "warranty": {"basic": "3 years/36,000 miles", "powertrain": "5 years/60,000 miles"},
+                  "maintenanceDates": ["2022-06-15", "2023-01-10"],
+                  "dimensions": {"length": 192.1, "width": 72.4, "height": 56.9}}}
+                """.formatted(model).replace("\n", " ");
+    }
+}
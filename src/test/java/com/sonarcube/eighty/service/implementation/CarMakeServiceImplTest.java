@@ -1,11 +1,16 @@
 package com.sonarcube.eighty.service.implementation;
 
+import com.sonarcube.eighty.dto.CarChangeEntity;
+import com.sonarcube.eighty.dto.CarChangeType;
 import com.sonarcube.eighty.dto.CarMakeRequest;
 import com.sonarcube.eighty.dto.CarMakeResponse;
 import com.sonarcube.eighty.exception.ResourceAlreadyExistsException;
 import com.sonarcube.eighty.exception.ResourceNotFoundException;
 import com.sonarcube.eighty.model.CarMake;
 import com.sonarcube.eighty.repository.CarMakeRepository;
+import com.sonarcube.eighty.repository.CarOutboxRepository;
+import com.sonarcube.eighty.repository.CarSearchIndex;
+import com.sonarcube.eighty.repository.CarStatsIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -19,6 +24,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class CarMakeServiceImplTest {
@@ -29,6 +36,15 @@ class CarMakeServiceImplTest {
     @Mock
     private CarMakeRepository carMakeRepository;
 
+    @Mock
+    private CarSearchIndex carSearchIndex;
+
+    @Mock
+    private CarStatsIndex carStatsIndex;
+
+    @Mock
+    private CarOutboxRepository carOutboxRepository;
+
     @BeforeEach
     void setup() throws Exception{
         MockitoAnnotations.openMocks(this).close();
@@ -46,6 +62,36 @@ class CarMakeServiceImplTest {
         assertEquals(mockCarMakes.get(0).getName(), responses.get(0).getName());
     }
 
+    @Test
+    void testGetAllCarMakes_shouldTagTheContentOfTheList(){
+        //Arrange
+        List<CarMake> mockCarMakes = getAllCarMakes();
+        when(carMakeRepository.findAll()).thenReturn(mockCarMakes);
+        List<String> eTags = new ArrayList<>();
+        //Act
+        carMakeService.getAllCarMakes(eTag -> eTags.add(eTag) && false);
+        Optional<List<CarMakeResponse>> notModified = carMakeService.getAllCarMakes(eTag -> eTag.equals(eTags.get(0)));
+        // a rename within the same second as the last write still changes the tag
+        mockCarMakes.get(0).setName("Renamed");
+        carMakeService.getAllCarMakes(eTag -> eTags.add(eTag) && false);
+        //Assert
+        assertTrue(notModified.isEmpty());
+        assertNotEquals(eTags.get(0), eTags.get(1));
+        assertFalse(eTags.get(0).startsWith("W/"));
+    }
+
+    @Test
+    void testGetAllCarMakes_shouldReturnCarMakesWhenModified(){
+        //Arrange
+        List<CarMake> mockCarMakes = getAllCarMakes();
+        when(carMakeRepository.findAll()).thenReturn(mockCarMakes);
+        //Act
+        Optional<List<CarMakeResponse>> responses = carMakeService.getAllCarMakes(eTag -> false);
+        //Assert
+        assertTrue(responses.isPresent());
+        assertEquals(mockCarMakes.size(), responses.get().size());
+    }
+
     @Test
     void testGetCarMakeById_shouldReturnAllCarMakes_withAllFieldHasValue(){
         CarMake oneCarMakes = getOneCarMakes();
@@ -117,6 +163,8 @@ class CarMakeServiceImplTest {
         //Assert
         assertNotNull(response);
         assertEquals(carMakeRequestUpdate.getName(), response.getName());
+        verify(carOutboxRepository).save(argThat(event -> event.getEntity() == CarChangeEntity.MAKE
+                && event.getEntityId().equals(carMake.getId()) && event.getType() == CarChangeType.UPDATED));
     }
 
     @Test
@@ -1,30 +1,35 @@
 package com.sonarcube.eighty.service.implementation;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sonarcube.eighty.dto.*;
 import com.sonarcube.eighty.exception.InvalidRequestException;
 import com.sonarcube.eighty.exception.ResourceConversionException;
 import com.sonarcube.eighty.exception.ResourceNotFoundException;
 import com.sonarcube.eighty.model.Car;
 import com.sonarcube.eighty.model.CarMake;
+import com.sonarcube.eighty.model.CarOutboxEvent;
 import com.sonarcube.eighty.repository.CarMakeRepository;
+import com.sonarcube.eighty.repository.CarOutboxRepository;
 import com.sonarcube.eighty.repository.CarRepository;
+import com.sonarcube.eighty.repository.CarSearchIndex;
+import com.sonarcube.eighty.repository.CarStatsIndex;
+import com.sonarcube.eighty.util.mapper.CarMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
-import org.mockito.ArgumentMatchers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -42,26 +47,37 @@ class CarServiceImplTest {
     private CarMakeRepository carMakeRepository;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private EntityManager entityManager;
 
+    @Mock
+    private CarSearchIndex carSearchIndex;
+
+    @Mock
+    private CarStatsIndex carStatsIndex;
+
+    @Mock
+    private CarOutboxRepository carOutboxRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private CarMapper carMapper = new CarMapper();
 
     @BeforeEach
     void setUp() throws Exception {
         MockitoAnnotations.openMocks(this).close();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
-    void testGetAllCars_shouldReturnAllCars() throws JsonProcessingException {
+    void testGetAllCars_shouldReturnAllCars() {
         //Arrange
         List<Car> mockCars = getAllCars();
         when(carRepository.findAll()).thenReturn(mockCars);
-        when(objectMapper.readValue(getNewEngine().toString(), Engine.class)).thenReturn(getCarDtoEngine());
-        when(objectMapper.readValue(getMaintenanceDates(), LocalDate[].class)).thenReturn(getCarDtoMaintenanceDates());
-        when(objectMapper.readValue(getFeatures(), String[].class)).thenReturn(getCarDtoFeatures());
-        when(objectMapper.readValue(getWarranty(), Warranty.class)).thenReturn(getCarDtoWarranty());
-        when(objectMapper.readValue(getDimensions(), Dimensions.class)).thenReturn(getCarDtoDimensions());
         //Act
-        List<CarDtoResponse> actualCars = carServiceImpl.getAllCars();
+        List<CarDtoResponse> actualCars = carServiceImpl.getAllCars(CarFields.ALL);
         //Assert
         assertNotNull(actualCars);
     }
@@ -72,61 +88,92 @@ class CarServiceImplTest {
         List<Car> mockCars = new ArrayList<>();
         when(carRepository.findAll()).thenReturn(mockCars);
         //Act
-        List<CarDtoResponse> actualCars = carServiceImpl.getAllCars();
+        List<CarDtoResponse> actualCars = carServiceImpl.getAllCars(CarFields.ALL);
         //Assert
         assertNotNull(actualCars);
     }
 
     @Test
-    void testGetAllCars_shouldResourceConversionException_whenJsonProcessingException() throws JsonProcessingException {
-        List<Car> allCars = getAllCars();
-        when(carRepository.findAll()).thenReturn(allCars);
-        doThrow(JsonProcessingException.class).when(objectMapper).readValue(any(String.class), any(Class.class));
-        ResourceConversionException response = assertThrows(ResourceConversionException.class, () -> carServiceImpl.getAllCars());
-        assertNotNull(response.getMessage());
-        assertEquals("Error while serializing Car to CarDto", response.getMessage());
+    void testStreamAllCars_shouldPassEveryCarToConsumer() {
+        //Arrange
+        List<Car> mockCars = getAllCars();
+        when(carRepository.streamAll()).thenReturn(mockCars.stream());
+        List<CarDtoResponse> streamed = new ArrayList<>();
+        //Act
+        carServiceImpl.streamAllCars(streamed::add);
+        //Assert
+        assertEquals(mockCars.size(), streamed.size());
+        verify(entityManager, times(mockCars.size())).detach(any(Car.class));
     }
 
     @Test
-    void testGetCarById_shouldResourceConversionException_whenJsonProcessingException() throws JsonProcessingException {
+    void testGetCarById_shouldReturnCar() {
         //Arrange
         Car mockCar = getOneCar();
         when(carRepository.findById(1L)).thenReturn(Optional.of(mockCar));
-        doThrow(JsonProcessingException.class).when(objectMapper).readValue(any(String.class), any(Class.class));
         //Act
-        ResourceConversionException e = assertThrows(ResourceConversionException.class, () -> carServiceImpl.getCarById(1L));
+        CarDtoResponse actualCar = carServiceImpl.getCarById(1L);
         //Assert
-        assertEquals("Error while serializing Car to CarDto", e.getMessage());
+        assertNotNull(actualCar);
+        assertEquals(mockCar.getId(), actualCar.getId());
     }
 
     @Test
-    void testGetCarById_shouldReturnCar() throws JsonProcessingException {
+    void testGetCarById_shouldSkipConversionWhenNotModified() {
         //Arrange
         Car mockCar = getOneCar();
         when(carRepository.findById(1L)).thenReturn(Optional.of(mockCar));
-        when(objectMapper.readValue(getFeatures(), String[].class)).thenReturn(getCarDtoFeatures());
-        when(objectMapper.readValue(getEngine(), Engine.class)).thenReturn(getCarDtoEngine());
-        when(objectMapper.readValue(getWarranty(), Warranty.class)).thenReturn(getCarDtoWarranty());
-        when(objectMapper.readValue(getMaintenanceDates(), LocalDate[].class)).thenReturn(getCarDtoMaintenanceDates());
-        when(objectMapper.readValue(getDimensions(), Dimensions.class)).thenReturn(getCarDtoDimensions());
+        List<String> eTags = new ArrayList<>();
         //Act
-        CarDtoResponse actualCar = carServiceImpl.getCarById(1L);
+        Optional<CarDtoResponse> notModified = carServiceImpl.getCarById(1L, CarFields.ALL, eTag -> eTags.add(eTag));
+        Optional<CarDtoResponse> modified = carServiceImpl.getCarById(1L, CarFields.ALL, eTag -> false);
         //Assert
-        assertNotNull(actualCar);
-        assertEquals(mockCar.getId(), actualCar.getId());
+        assertTrue(notModified.isEmpty());
+        assertTrue(modified.isPresent());
+        assertEquals(mockCar.getId(), modified.get().getId());
+        assertTrue(eTags.get(0).startsWith("\"" + mockCar.getId() + "-"));
+    }
+
+    @Test
+    void testGetCarById_shouldReadProjectionForSparseFields() {
+        //Arrange
+        Car mockCar = getOneCar();
+        CarFields fields = CarFields.parse("model,price");
+        when(carRepository.findProjectedById(1L, fields)).thenReturn(Optional.of(mockCar));
+        when(carRepository.findById(1L)).thenReturn(Optional.of(mockCar));
+        List<String> eTags = new ArrayList<>();
+        //Act
+        Optional<CarDtoResponse> response = carServiceImpl.getCarById(1L, fields, eTag -> eTags.add(eTag) && false);
+        carServiceImpl.getCarById(1L, CarFields.ALL, eTag -> eTags.add(eTag) && false);
+        //Assert
+        assertTrue(response.isPresent());
+        verify(carRepository).findById(1L);
+        assertTrue(eTags.get(0).endsWith("-id.model.price\""));
+        assertNotEquals(eTags.get(0), eTags.get(1));
     }
 
     @Test
-    void testGetCarById_shouldThrow() throws JsonProcessingException {
+    void testGetCarById_shouldChangeETagWhenCarIsUpdated() {
+        //Arrange
+        Car mockCar = getOneCar();
+        when(carRepository.findById(1L)).thenReturn(Optional.of(mockCar));
+        List<String> eTags = new ArrayList<>();
+        //Act
+        carServiceImpl.getCarById(1L, CarFields.ALL, eTag -> eTags.add(eTag) && false);
+        // the version moves even when updated_at stays within the same second
+        mockCar.setVersion(mockCar.getVersion() + 1);
+        carServiceImpl.getCarById(1L, CarFields.ALL, eTag -> eTags.add(eTag) && false);
+        //Assert
+        assertNotEquals(eTags.get(0), eTags.get(1));
+        assertTrue(eTags.get(0).startsWith("\""));
+    }
+
+    @Test
+    void testGetCarById_shouldThrow() {
         //Arrange
         Car mockCar = getOneCar();
         mockCar.setStatus("notValid");
         when(carRepository.findById(1L)).thenReturn(Optional.of(mockCar));
-        when(objectMapper.readValue(getFeatures(), String[].class)).thenReturn(getCarDtoFeatures());
-        when(objectMapper.readValue(getEngine(), Engine.class)).thenReturn(getCarDtoEngine());
-        when(objectMapper.readValue(getWarranty(), Warranty.class)).thenReturn(getCarDtoWarranty());
-        when(objectMapper.readValue(getMaintenanceDates(), LocalDate[].class)).thenReturn(getCarDtoMaintenanceDates());
-        when(objectMapper.readValue(getDimensions(), Dimensions.class)).thenReturn(getCarDtoDimensions());
         //Act
         ResourceConversionException response = assertThrows(ResourceConversionException.class, () -> carServiceImpl.getCarById(1L));
         //Assert
@@ -145,22 +192,40 @@ class CarServiceImplTest {
     }
 
     @Test
-    void testSaveCar_shouldReturnCar() throws JsonProcessingException {
+    void testSearchCars_shouldHydrateInRankOrderAndSkipMissingCars() {
+        //Arrange
+        Car first = getOneCar();
+        first.setId(7L);
+        Car second = getOneCar();
+        second.setId(3L);
+        when(carSearchIndex.search("model", 20)).thenReturn(List.of(3L, 9L, 7L));
+        when(carRepository.findAllById(List.of(3L, 9L, 7L))).thenReturn(List.of(first, second));
+        //Act
+        List<CarDtoResponse> responses = carServiceImpl.searchCars("model", 20);
+        //Assert
+        assertEquals(List.of(3L, 7L), responses.stream().map(CarDtoResponse::getId).toList());
+    }
+
+    @Test
+    void testSearchCars_shouldClampLimitAndRejectBlankQuery() {
+        //Arrange
+        when(carSearchIndex.search("model", 100)).thenReturn(List.of());
+        //Act
+        List<CarDtoResponse> responses = carServiceImpl.searchCars("model", 5000);
+        InvalidRequestException e = assertThrows(InvalidRequestException.class, () -> carServiceImpl.searchCars(" ", 20));
+        //Assert
+        assertTrue(responses.isEmpty());
+        assertEquals("'q' must not be empty", e.getMessage());
+        verify(carRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testSaveCar_shouldReturnCar() {
         //Arrange
         CarDtoRequest oneCarDtoRequest = getOneCarDto();
         Car oneCar = getOneCar();
         System.out.println(oneCar.toString());
         when(carMakeRepository.findByName("Make")).thenReturn(Optional.of(getCarMake()));
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getEngine())).thenReturn(oneCar.getEngine());
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getWarranty())).thenReturn(oneCar.getWarranty());
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getDimensions())).thenReturn(oneCar.getDimensions());
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getFeatures())).thenReturn(oneCar.getFeatures());
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getMaintenanceDates())).thenReturn(oneCar.getMaintenanceDates());
-        when(objectMapper.readValue(getFeatures(), String[].class)).thenReturn(getCarDtoFeatures());
-        when(objectMapper.readValue(getEngine(), Engine.class)).thenReturn(getCarDtoEngine());
-        when(objectMapper.readValue(getWarranty(), Warranty.class)).thenReturn(getCarDtoWarranty());
-        when(objectMapper.readValue(getMaintenanceDates(), LocalDate[].class)).thenReturn(getCarDtoMaintenanceDates());
-        when(objectMapper.readValue(getDimensions(), Dimensions.class)).thenReturn(getCarDtoDimensions());
         when(carRepository.save(any(Car.class))).thenReturn(oneCar);
 
         //Act
@@ -168,6 +233,60 @@ class CarServiceImplTest {
         //Assert
         assertNotNull(response);
         assertEquals(oneCarDtoRequest.getMake(), response.getMake());
+        verify(carSearchIndex).index(oneCar);
+    }
+
+    @Test
+    void testSaveCars_shouldSaveValidCarsAndReportInvalidOnes() {
+        //Arrange
+        CarDtoRequest validCar = getOneCarDto();
+        CarDtoRequest invalidCar = getOneCarDto();
+        invalidCar.setYear(1900);
+        CarDtoRequest unknownMake = getOneCarDto();
+        unknownMake.setMake("Unknown");
+        CarDtoRequest lowerCaseMake = getOneCarDto();
+        lowerCaseMake.setMake("make");
+        when(carMakeRepository.findByNameIn(anyCollection())).thenReturn(List.of(getCarMake()));
+        when(carRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //Act
+        CarBatchResponse response = carServiceImpl.saveCars(Arrays.asList(validCar, invalidCar, null, unknownMake, lowerCaseMake));
+
+        //Assert
+        assertEquals(5, response.getReceived());
+        assertEquals(2, response.getSaved());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(1, 2, 3), response.getErrors().stream().map(CarBatchError::getIndex).toList());
+        assertEquals("'year' must be greater than or equal to 1950", response.getErrors().get(0).getMessage());
+        assertEquals("'car' must not be null", response.getErrors().get(1).getMessage());
+        assertEquals("Car Make not found with make : 'Unknown'", response.getErrors().get(2).getMessage());
+        assertTrue(response.getCars().stream().allMatch(car -> car.getStatus() == CarStatus.ACTIVE));
+        verify(carMakeRepository, times(1)).findByNameIn(anyCollection());
+        verify(carMakeRepository, never()).findByName(anyString());
+    }
+
+    @Test
+    void testSaveCars_shouldInsertInChunksOfBatchSize() {
+        //Arrange
+        List<CarDtoRequest> requests = new ArrayList<>();
+        for (int i = 0; i < CarServiceImpl.BATCH_SIZE * 2 + 1; i++) {
+            requests.add(getOneCarDto());
+        }
+        when(carMakeRepository.findByNameIn(anyCollection())).thenReturn(List.of(getCarMake()));
+        when(carRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //Act
+        CarBatchResponse response = carServiceImpl.saveCars(requests);
+
+        //Assert
+        assertEquals(requests.size(), response.getSaved());
+        assertTrue(response.getErrors().isEmpty());
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(carRepository, times(3)).saveAll(anyList());
+        verify(carOutboxRepository, times(3)).saveAll(anyList());
+        verify(carStatsIndex, times(3)).addAll(anyList());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
     }
 
     @Test
@@ -636,16 +755,6 @@ class CarServiceImplTest {
         assertEquals(expectedMessage, response.getMessage());
     }
 
-    @Test
-    void testSaveCar_shouldThrowResourceConversionException_whenJsonProcessingException() throws JsonProcessingException {
-        CarDtoRequest oneCarDtoRequest = getOneCarDto();
-        when(carMakeRepository.findByName(oneCarDtoRequest.getMake())).thenReturn(Optional.of(getCarMake()));
-        doThrow(JsonProcessingException.class).when(objectMapper).writeValueAsString(any());
-        ResourceConversionException response = assertThrows(ResourceConversionException.class, () -> carServiceImpl.saveCar(oneCarDtoRequest));
-        assertNotNull(response.getMessage());
-        assertEquals("Error while serializing CarDto to Car", response.getMessage());
-    }
-
     @Test
     void testSaveCar_shouldThrowResourceNotFoundException_makeNotFound(){
         CarDtoRequest oneCarDtoRequest = getOneCarDto();
@@ -656,19 +765,7 @@ class CarServiceImplTest {
     }
 
     @Test
-    void testUpdateCar_shouldThrowResourceConversionException_whenJsonProcessingException() throws JsonProcessingException {
-        CarDtoRequest oneCarDtoRequest = getOneCarDto();
-        Car oneCar = getOneCar();
-        when(carRepository.findById(1L)).thenReturn(Optional.of(oneCar));
-        when(carMakeRepository.findByName(oneCarDtoRequest.getMake())).thenReturn(Optional.of(getCarMake()));
-        doThrow(JsonProcessingException.class).when(objectMapper).writeValueAsString(any());
-        ResourceConversionException response = assertThrows(ResourceConversionException.class, () -> carServiceImpl.updateCar(1L, oneCarDtoRequest));
-        assertNotNull(response.getMessage());
-        assertEquals("Error while serializing CarDto to Car", response.getMessage());
-    }
-
-    @Test
-    void testUpdateCar_shouldReturnUpdatedCar() throws IOException {
+    void testUpdateCar_shouldReturnUpdatedCar() {
         //Arrange
         CarDtoRequest oneCarDtoRequest = getOneCarDto();
         oneCarDtoRequest.setMake("Make Update");
@@ -678,16 +775,6 @@ class CarServiceImplTest {
         oneCar.setCarMake(carMake);
         when(carRepository.findById(1L)).thenReturn(Optional.of(oneCar));
         when(carMakeRepository.findByName("Make Update")).thenReturn(Optional.of(carMake));
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getEngine())).thenReturn(oneCar.getEngine());
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getWarranty())).thenReturn(oneCar.getWarranty());
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getDimensions())).thenReturn(oneCar.getDimensions());
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getFeatures())).thenReturn(oneCar.getFeatures());
-        when(objectMapper.writeValueAsString(oneCarDtoRequest.getMaintenanceDates())).thenReturn(oneCar.getMaintenanceDates());
-        when(objectMapper.readValue(getFeatures(), String[].class)).thenReturn(getCarDtoFeatures());
-        when(objectMapper.readValue(getEngine(), Engine.class)).thenReturn(getCarDtoEngine());
-        when(objectMapper.readValue(getWarranty(), Warranty.class)).thenReturn(getCarDtoWarranty());
-        when(objectMapper.readValue(getMaintenanceDates(), LocalDate[].class)).thenReturn(getCarDtoMaintenanceDates());
-        when(objectMapper.readValue(getDimensions(), Dimensions.class)).thenReturn(getCarDtoDimensions());
         when(carRepository.save(any(Car.class))).thenReturn(oneCar);
         //Act
         CarDtoResponse response = carServiceImpl.updateCar(1L, oneCarDtoRequest);
@@ -1066,7 +1153,7 @@ class CarServiceImplTest {
         when(carRepository.findById(1L)).thenReturn(Optional.of(oneCar));
         InvalidRequestException response = assertThrows(InvalidRequestException.class, () -> carServiceImpl.updateCar(1L, oneCarDtoRequest));
         assertNotNull(response.getMessage());
-        assertEquals("'maintenanceDates' must be between 2 and 10", response.getMessage());
+        assertEquals("'maintenanceDates' size must be between 2 and 10", response.getMessage());
     }
 
     @Test
@@ -1082,7 +1169,7 @@ class CarServiceImplTest {
         when(carMakeRepository.findByName(oneCarDtoRequest.getMake())).thenReturn(Optional.of(getCarMake()));
         InvalidRequestException response = assertThrows(InvalidRequestException.class, () -> carServiceImpl.updateCar(1L, oneCarDtoRequest));
         assertNotNull(response.getMessage());
-        assertEquals("'maintenanceDates' must be between 2 and 10", response.getMessage());
+        assertEquals("'maintenanceDates' size must be between 2 and 10", response.getMessage());
     }
 
     @Test
@@ -1143,27 +1230,129 @@ class CarServiceImplTest {
         assertEquals("Car Make not found with make : 'Make'", response.getMessage());
     }
 
+    @Test
+    void testUpdateCarStatus_shouldMoveCarBetweenStatsGroups(){
+        //Arrange
+        CarStatusRequest request = getCarStatusRequest();
+        request.setCarStatus(CarStatus.SOLD);
+        Car oneCar = getOneCar();
+        oneCar.setStatus(CarStatus.ACTIVE.getValue());
+        when(carRepository.findById(1L)).thenReturn(Optional.of(oneCar));
+        when(carRepository.save(any(Car.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        //Act
+        carServiceImpl.updateCarStatus(1L, request);
+        //Assert
+        ArgumentCaptor<CarStatsIndex.Fact> before = ArgumentCaptor.forClass(CarStatsIndex.Fact.class);
+        verify(carStatsIndex).replace(before.capture(), eq(oneCar));
+        assertEquals(CarStatus.ACTIVE.getValue(), before.getValue().getCell().getStatus());
+    }
+
+    @Test
+    void testGetCarStats_shouldSumGroupsFromStatsIndex(){
+        //Arrange
+        when(carStatsIndex.groupBy(EnumSet.of(CarStatsDimension.MAKE, CarStatsDimension.STATUS))).thenReturn(List.of(
+                CarStatsGroup.builder().make("Honda").status("active").count(3).averagePrice(20000).electricShare(0).build(),
+                CarStatsGroup.builder().make("Toyota").status("sold").count(2).averagePrice(30000).electricShare(0.5).build()
+        ));
+        //Act
+        CarStatsResponse response = carServiceImpl.getCarStats("status,make");
+        //Assert
+        assertEquals(List.of("make", "status"), response.getGroupBy());
+        assertEquals(5, response.getCount());
+        assertEquals(2, response.getGroups().size());
+    }
+
+    @Test
+    void testGetCarStats_shouldRejectUnknownDimension(){
+        InvalidRequestException e = assertThrows(InvalidRequestException.class, () -> carServiceImpl.getCarStats("make,color"));
+        assertEquals("'groupBy' must be any of make, year, status, electric", e.getMessage());
+    }
+
+    @Test
+    void testUpdateCarStatuses_shouldUpdateListedCarsThatDoNotHaveTheStatusYet(){
+        //Arrange
+        Car active = getOneCar();
+        Car archived = getOneCar();
+        archived.setId(2L);
+        archived.setStatus(CarStatus.ARCHIVE.getValue());
+        when(carRepository.findStatusRowsById(List.of(1L, 2L))).thenReturn(List.of(active, archived));
+        when(carRepository.updateStatus(eq(List.of(1L)), eq("archive"), anyLong())).thenReturn(1);
+        CarBulkStatusRequest request = CarBulkStatusRequest.builder().status("archive").ids(Arrays.asList(1L, 2L, 1L, null)).build();
+        //Act
+        CarBulkStatusResponse response = carServiceImpl.updateCarStatuses(new CarFilterParams(), request);
+        //Assert
+        assertEquals(CarStatus.ARCHIVE, response.getStatus());
+        assertEquals(2, response.getMatched());
+        assertEquals(1, response.getUpdated());
+        verify(carOutboxRepository, times(1)).saveAll(anyList());
+        verify(carStatsIndex, times(1)).replaceAll(anyList(), eq(List.of(active)));
+        assertEquals(CarStatus.ARCHIVE.getValue(), active.getStatus());
+        verify(carRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testUpdateCarStatuses_shouldWalkFilterInChunksById(){
+        //Arrange
+        List<Car> fullChunk = new ArrayList<>();
+        for (long id = 1; id <= CarServiceImpl.STATUS_CHUNK_SIZE; id++) {
+            Car car = getOneCar();
+            car.setId(id);
+            fullChunk.add(car);
+        }
+        CarFilterParams carFilterParams = CarFilterParams.builder().status("active").maxYear(2010).build();
+        when(carRepository.findStatusRows(carFilterParams, 0L, CarServiceImpl.STATUS_CHUNK_SIZE)).thenReturn(fullChunk);
+        when(carRepository.findStatusRows(carFilterParams, CarServiceImpl.STATUS_CHUNK_SIZE, CarServiceImpl.STATUS_CHUNK_SIZE)).thenReturn(List.of(getOneCar()));
+        when(carRepository.updateStatus(anyList(), eq("archive"), anyLong())).thenAnswer(invocation -> invocation.getArgument(0, List.class).size());
+        //Act
+        CarBulkStatusResponse response = carServiceImpl.updateCarStatuses(carFilterParams, CarBulkStatusRequest.builder().status("ARCHIVE").build());
+        //Assert
+        assertEquals(CarServiceImpl.STATUS_CHUNK_SIZE + 1, response.getMatched());
+        assertEquals(CarServiceImpl.STATUS_CHUNK_SIZE + 1, response.getUpdated());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(carRepository, times(2)).updateStatus(anyList(), eq("archive"), anyLong());
+    }
+
+    @Test
+    void testUpdateCarStatuses_shouldRejectMissingFilterAndUnknownStatus(){
+        //Act
+        InvalidRequestException noFilter = assertThrows(InvalidRequestException.class,
+                () -> carServiceImpl.updateCarStatuses(new CarFilterParams(), CarBulkStatusRequest.builder().status("archive").build()));
+        InvalidRequestException unknownStatus = assertThrows(InvalidRequestException.class,
+                () -> carServiceImpl.updateCarStatuses(new CarFilterParams(), CarBulkStatusRequest.builder().status("scrapped").ids(List.of(1L)).build()));
+        //Assert
+        assertEquals("'ids' or a filter is required", noFilter.getMessage());
+        assertEquals("'status' must be any of active, sold, archive, deleted", unknownStatus.getMessage());
+        verify(carRepository, never()).updateStatus(anyList(), anyString(), anyLong());
+    }
+
     @Test
     void testDeleteCar_shouldDeleteCar(){
         //Arrange
         Car oneCar = getOneCar();
-        when(carRepository.existsById(1L)).thenReturn(true);
+        when(carRepository.findById(1L)).thenReturn(Optional.of(oneCar));
         //Act
         String response = carServiceImpl.deleteCar(1L);
         //Assert
         verify(carRepository, times(1)).deleteById(oneCar.getId());
+        verify(carStatsIndex, times(1)).remove(oneCar);
+        ArgumentCaptor<CarOutboxEvent> event = ArgumentCaptor.forClass(CarOutboxEvent.class);
+        verify(carOutboxRepository, times(1)).save(event.capture());
+        assertEquals(CarChangeEntity.CAR, event.getValue().getEntity());
+        assertEquals(1L, event.getValue().getEntityId());
+        assertEquals(CarChangeType.DELETED, event.getValue().getType());
         assertEquals("Car with id: 1 deleted successfully", response);
     }
 
     @Test
     void testDeleteCar_shouldThrowResourceNotFoundException(){
         //Arrange
-        when(carRepository.existsById(1L)).thenReturn(false);
+        when(carRepository.findById(1L)).thenReturn(Optional.empty());
 
         //Act
         ResourceNotFoundException response = assertThrows(ResourceNotFoundException.class, () -> carServiceImpl.deleteCar(1L));
         //Assert
         assertNotNull(response);
+        verify(carOutboxRepository, never()).save(any());
         assertEquals("Car not found with id : '1'", response.getMessage());
     }
 
@@ -1183,11 +1372,6 @@ class CarServiceImplTest {
         savedCar.setStatus(CarStatus.fromValue(value).toString());
         when(carRepository.findById(1L)).thenReturn(Optional.of(oneCar));
         when(carRepository.save(any(Car.class))).thenReturn(savedCar);
-        when(objectMapper.readValue(getFeatures(), String[].class)).thenReturn(getCarDtoFeatures());
-        when(objectMapper.readValue(getEngine(), Engine.class)).thenReturn(getCarDtoEngine());
-        when(objectMapper.readValue(getWarranty(), Warranty.class)).thenReturn(getCarDtoWarranty());
-        when(objectMapper.readValue(getMaintenanceDates(), LocalDate[].class)).thenReturn(getCarDtoMaintenanceDates());
-        when(objectMapper.readValue(getDimensions(), Dimensions.class)).thenReturn(getCarDtoDimensions());
         CarDtoResponse response = carServiceImpl.updateCarStatus(1L, request);
         assertNotNull(response);
         assertEquals(value, response.getStatus().getValue());
@@ -1213,29 +1397,6 @@ class CarServiceImplTest {
         assertEquals(expectedMessage, response.getMessage());
     }
 
-    @ParameterizedTest
-    @CsvSource({
-            "active",
-            "sold",
-            "archive",
-            "deleted"
-    })
-    void testUpdateStatusCar_shouldThrowConversionException(String value) throws Exception{
-        CarStatusRequest request = getCarStatusRequest();
-        request.setCarStatus(CarStatus.fromValue(value));
-        Car oneCar = getOneCar();
-        Car savedCar = getOneCar();
-        savedCar.setUpdatedAt(ZonedDateTime.now().toEpochSecond());
-        savedCar.setStatus(CarStatus.fromValue(value).toString());
-        String expectedMessage = "Error while serializing Car to CarDto";
-        when(carRepository.findById(1L)).thenReturn(Optional.of(oneCar));
-        when(carRepository.save(any(Car.class))).thenReturn(savedCar);
-        doThrow(JsonProcessingException.class).when(objectMapper).readValue(anyString(), ArgumentMatchers.<Class<?>>any());
-        ResourceConversionException response = assertThrows(ResourceConversionException.class, () -> carServiceImpl.updateCarStatus(1L, request));
-        assertNotNull(response);
-        assertEquals(expectedMessage, response.getMessage());
-    }
-
     @ParameterizedTest
     @CsvSource({
             "asc",
@@ -1250,11 +1411,6 @@ class CarServiceImplTest {
         carFilterParams.setSortDirection(sortingDirection.equalsIgnoreCase("asc") ? "asc" : "desc");
         when(carMakeRepository.findByName(anyString())).thenReturn(Optional.of(carMake));
         when(carRepository.findCarWithCustomQueryV2(any(CarFilterParams.class), any(Pageable.class))).thenReturn(pageOfCars);
-        when(objectMapper.readValue(getFeatures(), String[].class)).thenReturn(getCarDtoFeatures());
-        when(objectMapper.readValue(getEngine(), Engine.class)).thenReturn(getCarDtoEngine());
-        when(objectMapper.readValue(getWarranty(), Warranty.class)).thenReturn(getCarDtoWarranty());
-        when(objectMapper.readValue(getMaintenanceDates(), LocalDate[].class)).thenReturn(getCarDtoMaintenanceDates());
-        when(objectMapper.readValue(getDimensions(), Dimensions.class)).thenReturn(getCarDtoDimensions());
         //Act
         Page<CarDtoResponse> response = carServiceImpl.findCarByCustomQueryV2(carFilterParams);
         //Assert
@@ -1262,29 +1418,70 @@ class CarServiceImplTest {
         assertEquals(allCars.size(), response.getTotalElements());
     }
 
+
+    @Test
+    void testSlicePagination_shouldReturnSliceWithoutTotal(){
+        //Arrange
+        CarFilterParams carFilterParams = getCarFilterParams();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
+        Slice<Car> slice = new SliceImpl<>(getAllCars().subList(0, 10), pageable, true);
+        when(carRepository.findCarSliceWithCustomQuery(any(CarFilterParams.class), any(Pageable.class))).thenReturn(slice);
+        //Act
+        CarSliceResponse response = carServiceImpl.findCarSliceByCustomQuery(carFilterParams);
+        //Assert
+        assertTrue(response.isHasNext());
+        assertEquals(0, response.getPage());
+        assertEquals(10, response.getContent().size());
+        verify(carRepository, never()).findCarWithCustomQueryV2(any(CarFilterParams.class), any(Pageable.class));
+    }
+
+    @Test
+    void testCursorPagination_shouldReturnNextCursor_whenMoreRowsExist(){
+        //Arrange
+        CarFilterParams carFilterParams = getCarFilterParams();
+        carFilterParams.setCursor("");
+        List<Car> cars = getAllCars().subList(0, 11);
+        when(carRepository.findCarWithKeyset(any(CarFilterParams.class), any(), eq(11))).thenReturn(cars);
+        //Act
+        CarCursorPageResponse response = carServiceImpl.findCarByCursor(carFilterParams);
+        //Assert
+        assertTrue(response.isHasNext());
+        assertEquals(10, response.getContent().size());
+        CarCursor next = CarCursor.decode(response.getNextCursor());
+        assertEquals("id", next.getSortBy());
+        assertEquals(cars.get(9).getId(), next.getId());
+    }
+
+    @Test
+    void testCursorPagination_shouldReturnLastPage_whenNoMoreRows(){
+        //Arrange
+        CarFilterParams carFilterParams = getCarFilterParams();
+        carFilterParams.setCursor(CarCursor.of(getOneCar(), "id").encode());
+        List<Car> cars = getAllCars().subList(0, 3);
+        when(carRepository.findCarWithKeyset(any(CarFilterParams.class), any(CarCursor.class), eq(11))).thenReturn(cars);
+        //Act
+        CarCursorPageResponse response = carServiceImpl.findCarByCursor(carFilterParams);
+        //Assert
+        assertFalse(response.isHasNext());
+        assertNull(response.getNextCursor());
+        assertEquals(3, response.getContent().size());
+    }
+
     @ParameterizedTest
     @CsvSource({
-            "asc",
-            "desc"
+            "not-a-cursor, 'cursor' is invalid",
+            "eWVhcjoxOjIwMjE, 'cursor' does not match 'sortBy'"
     })
-    void testPagination_shouldThrowConversionException(String sortingDirection) throws Exception{
+    void testCursorPagination_shouldThrowInvalidRequestException(String cursor, String expectedMessage){
         //Arrange
-        CarMake carMake = getCarMake();
         CarFilterParams carFilterParams = getCarFilterParams();
-        Page<Car> pageOfCars = getPageOfCars();
-        carFilterParams.setSortDirection(sortingDirection.equalsIgnoreCase("asc") ? "asc" : "desc");
-        String expectedMessage = "Error while serializing Car to CarDto";
-        when(carMakeRepository.findByName(anyString())).thenReturn(Optional.of(carMake));
-        when(carRepository.findCarWithCustomQueryV2(any(CarFilterParams.class), any(Pageable.class))).thenReturn(pageOfCars);
-        doThrow(JsonProcessingException.class).when(objectMapper).readValue(anyString(), ArgumentMatchers.<Class<?>>any());
+        carFilterParams.setCursor(cursor);
         //Act
-        ResourceConversionException response = assertThrows(ResourceConversionException.class, () -> carServiceImpl.findCarByCustomQueryV2(carFilterParams));
+        InvalidRequestException response = assertThrows(InvalidRequestException.class, () -> carServiceImpl.findCarByCursor(carFilterParams));
         //Assert
-        assertNotNull(response);
         assertEquals(expectedMessage, response.getMessage());
     }
 
-
     private List<Car> getAllCars(){
         List<Car> cars = new ArrayList<>();
         for (int i = 0; i < 100; i++) {
@@ -1297,7 +1494,7 @@ class CarServiceImplTest {
                     .price(10000)
                     .isElectric(isElectric)
                     .features(getFeatures())
-                    .engine(getNewEngine().toString())
+                    .engine(getEngine())
                     .previousOwner(1)
                     .warranty(getWarranty())
                     .maintenanceDates(getMaintenanceDates())
@@ -1311,14 +1508,6 @@ class CarServiceImplTest {
         return cars;
     }
 
-    private Map<String, Object> getNewEngine(){
-        Map<String, Object> engine = new HashMap<>();
-        engine.put("type","type");
-        engine.put("horsepower",100);
-        engine.put("torque",100);
-        return engine;
-    }
-
     private Car getOneCar(){
         return Car.builder()
                 .id(1L)
@@ -1336,57 +1525,40 @@ class CarServiceImplTest {
                 .createdAt(ZonedDateTime.now().toEpochSecond())
                 .updatedAt(null)
                 .status(CarStatus.ACTIVE.getValue())
+                .version(0L)
                 .build();
     }
 
-    private String getFeatures(){
-        List<String> features = new ArrayList<>();
-        features.add("Feature1");
-        features.add("Feature2");
-        features.add("Feature3");
-
-        return "[" + features.stream()
-                .map(feature -> "\"" + feature + "\"")
-                .collect(Collectors.joining(", "))+ "]";
+    private List<String> getFeatures(){
+        return List.of("Feature1", "Feature2", "Feature3");
     }
 
-    private String getEngine(){
+    private Engine getEngine(){
         return Engine.builder()
                 .type("EngineType")
                 .horsepower(200)
                 .torque(300)
-                .build().toString();
+                .build();
     }
 
-    private String getWarranty(){
+    private Warranty getWarranty(){
         return Warranty.builder()
                 .basic("Basic")
                 .powertrain("Powertrain")
-                .build().toString();
+                .build();
     }
 
-    private String getMaintenanceDates(){
-        List<LocalDate> maintenanceDates = new ArrayList<>();
-        maintenanceDates.add(LocalDate.now());
-        maintenanceDates.add(LocalDate.now());
-        maintenanceDates.add(LocalDate.now());
-
-        List<String> maintenanceDatesAsString = maintenanceDates.stream()
-                .map(LocalDate::toString)
-                .toList();
-
-        return "["+ maintenanceDatesAsString.stream()
-                .map(date -> "\"" + date + "\"")
-                .collect(Collectors.joining(", ")) + "]";
+    private List<LocalDate> getMaintenanceDates(){
+        return List.of(LocalDate.now(), LocalDate.now(), LocalDate.now());
     }
 
-    private String getDimensions(){
+    private Dimensions getDimensions(){
         return Dimensions.builder()
                 .height(100)
                 .length(200)
                 .weight(300)
                 .width(400)
-                .build().toString();
+                .build();
     }
 
     private CarDtoRequest getOneCarDto(){
@@ -1430,22 +1602,6 @@ class CarServiceImplTest {
                 .build();
     }
 
-    private LocalDate[] getCarDtoMaintenanceDates(){
-        List<LocalDate> maintenanceDates = new ArrayList<>();
-        maintenanceDates.add(LocalDate.now());
-        maintenanceDates.add(LocalDate.of(2022,7,31));
-        maintenanceDates.add(LocalDate.EPOCH);
-        return maintenanceDates.toArray(LocalDate[]::new);
-    }
-
-    private String[] getCarDtoFeatures(){
-        List<String> features = new ArrayList<>();
-        features.add("Features 1");
-        features.add("Features 2");
-        features.add("Features 3");
-        return features.toArray(String[]::new);
-    }
-
     private static Warranty getCarDtoWarranty(){
         return Warranty.builder()
                 .powertrain("pwt")
@@ -0,0 +1,89 @@
+package com.sonarcube.eighty.util.converter;
+
+import com.sonarcube.eighty.dto.Dimensions;
+import com.sonarcube.eighty.dto.Engine;
+import com.sonarcube.eighty.dto.Warranty;
+import com.sonarcube.eighty.exception.ResourceConversionException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonAttributeConverterTest {
+
+    @Test
+    void testEngineConverter_shouldReadStoredColumn() {
+        Engine engine = new EngineConverter().convertToEntityAttribute("{\"type\":\"EngineType\",\"horsepower\":200,\"torque\":300}");
+        assertEquals("EngineType", engine.getType());
+        assertEquals(200, engine.getHorsepower());
+        assertEquals(300, engine.getTorque());
+    }
+
+    @Test
+    void testWarrantyConverter_shouldRoundTrip() {
+        WarrantyConverter converter = new WarrantyConverter();
+        Warranty warranty = Warranty.builder().basic("Basic").powertrain("Powertrain").build();
+        Warranty actual = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(warranty));
+        assertEquals(warranty.getBasic(), actual.getBasic());
+        assertEquals(warranty.getPowertrain(), actual.getPowertrain());
+    }
+
+    @Test
+    void testDimensionsConverter_shouldRoundTrip() {
+        DimensionsConverter converter = new DimensionsConverter();
+        Dimensions dimensions = Dimensions.builder().length(100).width(50).height(30).weight(10).build();
+        Dimensions actual = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(dimensions));
+        assertEquals(dimensions.toString(), actual.toString());
+    }
+
+    @Test
+    void testStringListConverter_shouldRoundTrip() {
+        StringListConverter converter = new StringListConverter();
+        String column = converter.convertToDatabaseColumn(List.of("Feature1", "Feature2"));
+        assertEquals("[\"Feature1\",\"Feature2\"]", column);
+        assertEquals(List.of("Feature1", "Feature2"), converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void testLocalDateListConverter_shouldWriteIsoDates() {
+        LocalDateListConverter converter = new LocalDateListConverter();
+        List<LocalDate> dates = List.of(LocalDate.of(2024, 9, 5), LocalDate.of(2024, 9, 6));
+        String column = converter.convertToDatabaseColumn(dates);
+        assertEquals("[\"2024-09-05\",\"2024-09-06\"]", column);
+        assertEquals(dates, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void testEngineConverter_shouldIgnoreUnknownKeys() {
+        Engine engine = new EngineConverter().convertToEntityAttribute("{\"type\":\"EngineType\",\"horsepower\":200,\"torque\":300,\"legacy\":true}");
+        assertEquals(Engine.builder().type("EngineType").horsepower(200).torque(300).build(), engine);
+    }
+
+    @Test
+    void testDimensionsConverter_shouldReadEqualValues_soUnchangedRowsAreNotDirty() {
+        DimensionsConverter converter = new DimensionsConverter();
+        String column = converter.convertToDatabaseColumn(Dimensions.builder().length(100).width(50).height(30).weight(10).build());
+        assertEquals(converter.convertToEntityAttribute(column), converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void testStringListConverter_shouldReadUnmodifiableList() {
+        List<String> features = new StringListConverter().convertToEntityAttribute("[\"Feature1\"]");
+        assertThrows(UnsupportedOperationException.class, () -> features.add("Feature2"));
+    }
+
+    @Test
+    void testConverter_shouldPassNullThrough() {
+        assertNull(new EngineConverter().convertToDatabaseColumn(null));
+        assertNull(new EngineConverter().convertToEntityAttribute(null));
+    }
+
+    @Test
+    void testConverter_shouldThrowResourceConversionException_whenColumnIsMalformed() {
+        EngineConverter converter = new EngineConverter();
+        ResourceConversionException response = assertThrows(ResourceConversionException.class, () -> converter.convertToEntityAttribute("EngineType"));
+        assertEquals("Error while serializing Car to CarDto", response.getMessage());
+    }
+}
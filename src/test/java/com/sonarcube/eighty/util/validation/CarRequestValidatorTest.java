@@ -0,0 +1,112 @@
+package com.sonarcube.eighty.util.validation;
+
+import com.sonarcube.eighty.dto.CarDtoRequest;
+import com.sonarcube.eighty.dto.Dimensions;
+import com.sonarcube.eighty.dto.Engine;
+import com.sonarcube.eighty.dto.Warranty;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarRequestValidatorTest {
+
+    @Test
+    void testValidate_shouldReturnNoViolationsForValidCar() {
+        assertTrue(CarRequestValidator.validate(getCarDto()).isEmpty());
+    }
+
+    @Test
+    void testValidate_shouldCollectEveryViolation() {
+        //Arrange
+        CarDtoRequest carDtoRequest = getCarDto();
+        carDtoRequest.setModel(" ");
+        carDtoRequest.setYear(2025);
+        carDtoRequest.setEngine(Engine.builder().type("").torque(-1).build());
+        carDtoRequest.setWarranty(null);
+        //Act
+        List<String> violations = CarRequestValidator.validate(carDtoRequest);
+        //Assert
+        assertEquals(List.of(
+                "'model' must not be empty",
+                "'year' must be less than or equal to 2024",
+                "'engine.type' must not be empty",
+                "'engine.torque' must be greater than or equal to 0",
+                "'warranty' must not be null"
+        ), violations);
+        assertEquals("'model' must not be empty, 'year' must be less than or equal to 2024, 'engine.type' must not be empty, " +
+                "'engine.torque' must be greater than or equal to 0, 'warranty' must not be null", CarRequestValidator.message(violations));
+    }
+
+    @Test
+    void testValidate_shouldRejectMissingMeasurementAndNullValues() {
+        //Arrange
+        CarDtoRequest carDtoRequest = getCarDto();
+        carDtoRequest.setDimensions(Dimensions.builder().length(100).width(50).height(30).build());
+        carDtoRequest.setFeatures(Arrays.asList("Feature1", null));
+        //Act
+        List<String> violations = CarRequestValidator.validate(carDtoRequest);
+        //Assert
+        assertEquals(List.of("'features' must not contain null values", "'dimensions' must not be empty"), violations);
+    }
+
+    // the messages clients got from the Bean Validation constraints CarDtoRequest used to carry
+    @Test
+    void testValidate_shouldKeepTheFormerConstraintMessages() {
+        //Arrange
+        CarDtoRequest carDtoRequest = CarDtoRequest.builder()
+                .year(1949)
+                .price(0)
+                .features(List.of("Feature1"))
+                .engine(Engine.builder().horsepower(-1).torque(-1).build())
+                .previousOwner(-1)
+                .warranty(new Warranty())
+                .maintenanceDates(List.of(LocalDate.of(2024, 9, 5)))
+                .dimensions(new Dimensions())
+                .build();
+        //Act
+        List<String> violations = CarRequestValidator.validate(carDtoRequest);
+        //Assert
+        assertEquals(List.of(
+                "'make' must not be empty",
+                "'model' must not be empty",
+                "'year' must be greater than or equal to 1950",
+                "'price' must be greater than 0",
+                "'features' size must be between 2 and 10",
+                "'engine.type' must not be empty",
+                "'engine.torque' must be greater than or equal to 0",
+                "'engine.horsepower' must be greater than or equal to 0",
+                "'previousOwner' must be greater than or equal to 0",
+                "'warranty.basic' must not be empty",
+                "'warranty.powertrain' must not be empty",
+                "'maintenanceDates' size must be between 2 and 10",
+                "'dimensions' must not be empty"
+        ), violations);
+        assertEquals(List.of("'engine' must not be null", "'warranty' must not be null", "'maintenanceDates' must not be null"),
+                CarRequestValidator.validate(CarDtoRequest.builder().make("Make").model("Model").year(2021).price(1).features(List.of("a", "b"))
+                        .dimensions(getCarDto().getDimensions()).build()));
+    }
+
+    @Test
+    void testValidate_shouldRejectNullCar() {
+        assertEquals(List.of("'car' must not be null"), CarRequestValidator.validate(null));
+    }
+
+    private CarDtoRequest getCarDto() {
+        return CarDtoRequest.builder()
+                .make("Make")
+                .model("Model")
+                .year(2021)
+                .price(10000)
+                .features(List.of("Feature1", "Feature2"))
+                .engine(Engine.builder().type("EngineType").horsepower(200).torque(300).build())
+                .previousOwner(1)
+                .warranty(Warranty.builder().basic("Basic").powertrain("Powertrain").build())
+                .maintenanceDates(List.of(LocalDate.of(2024, 9, 5), LocalDate.of(2024, 9, 6)))
+                .dimensions(Dimensions.builder().length(100).width(50).height(30).weight(1000).build())
+                .build();
+    }
+}